@@ -0,0 +1,68 @@
+package com.example.auth.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+
+/**
+ * 필터 한 번에 드는 JWT 검증 비용 비교.
+ * - threeParses : 예전 경로 (isTokenExpired / extractUsername / extractRole 가 각각 파서를 만들고 서명 검증)
+ * - singleParse : 현재 경로 (공유 파서로 parseVerified 한 번)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MICROSECONDS)
+public class JwtParseBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-which-is-long-enough-for-hs256";
+
+    private JwtUtil jwtUtil;
+    private Key signingKey;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        jwtUtil = new JwtUtil();
+        set("secret", SECRET);
+        set("accessValidityMs", 3_600_000L);
+        jwtUtil.init();
+        signingKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        token = jwtUtil.generateToken("user1", "ROLE_USER");
+    }
+
+    private void set(String name, Object value) throws Exception {
+        Field f = JwtUtil.class.getDeclaredField(name);
+        f.setAccessible(true);
+        f.set(jwtUtil, value);
+    }
+
+    private Claims parseWithNewParser() {
+        return Jwts.parserBuilder().setSigningKey(signingKey).build()
+                .parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public void threeParses(Blackhole bh) {
+        bh.consume(parseWithNewParser().getExpiration().before(new Date()));
+        bh.consume(parseWithNewParser().getSubject());
+        bh.consume((String) parseWithNewParser().get("role"));
+    }
+
+    @Benchmark
+    public JwtUtil.Principal singleParse() {
+        return jwtUtil.parseVerified(token);
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.auth.config;
 
+import com.example.auth.service.VerifiedTokenCache;
 import com.example.auth.util.JwtUtil;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,10 +18,10 @@ import java.util.List;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache tokenCache;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
+    public JwtAuthenticationFilter(VerifiedTokenCache tokenCache) {
+        this.tokenCache = tokenCache;
     }
 
     @Override
@@ -30,16 +32,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
             String token = header.substring(7);
             try {
-                if (!jwtUtil.isTokenExpired(token)) {
-                    String username = jwtUtil.extractUsername(token);
-                    String role = jwtUtil.extractRole(token); // ex) ROLE_ADMIN
-                    if (username != null && role != null) {
-                        var auth = new UsernamePasswordAuthenticationToken(
-                                username, null, List.of(new SimpleGrantedAuthority(role)));
-                        SecurityContextHolder.getContext().setAuthentication(auth);
-                    }
+                // 처음 보는 토큰만 파싱/서명 검증 1번 (만료도 여기서 확인), 이후는 캐시
+                JwtUtil.Principal principal = tokenCache.verify(token);
+                if (principal.username() != null && principal.role() != null) {
+                    var auth = new UsernamePasswordAuthenticationToken(
+                            principal.username(), null, List.of(new SimpleGrantedAuthority(principal.role())));
+                    SecurityContextHolder.getContext().setAuthentication(auth);
                 }
-            } catch (Exception ignored) {
+            } catch (JwtException | IllegalArgumentException ignored) {
                 // 유효하지 않은 토큰이면 그냥 익명으로 진행 -> 이후 접근제어에서 401/403 처리
             }
         }
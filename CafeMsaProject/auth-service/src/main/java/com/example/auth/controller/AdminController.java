@@ -2,6 +2,8 @@ package com.example.auth.controller;
 
 import com.example.auth.model.User;
 import com.example.auth.repository.UserRepository;
+import com.example.auth.service.RefreshTokenService;
+import com.example.auth.service.VerifiedTokenCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +17,12 @@ public class AdminController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private VerifiedTokenCache tokenCache;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     @GetMapping("/users")
     public ResponseEntity<List<User>> getAllUsers() {
         return ResponseEntity.ok(userRepository.findAll());
@@ -25,16 +33,20 @@ public class AdminController {
         User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
+        String oldUsername = existingUser.getUsername();
         existingUser.setUsername(user.getUsername());
         existingUser.setEmail(user.getEmail());
         existingUser.setRole(user.getRole());
 
         userRepository.save(existingUser);
+        tokenCache.revokeUser(oldUsername); // 이전 이름/권한이 담긴 토큰은 더 이상 받지 않음
         return ResponseEntity.ok().build();
     }
 
     @DeleteMapping("/users/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
+        userRepository.findById(id).ifPresent(u -> tokenCache.revokeUser(u.getUsername()));
+        refreshTokenService.deleteAllForUser(id);
         userRepository.deleteById(id);
         return ResponseEntity.ok().build();
     }
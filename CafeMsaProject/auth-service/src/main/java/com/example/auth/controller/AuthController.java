@@ -2,18 +2,31 @@ package com.example.auth.controller;
 
 import com.example.auth.dto.LoginRequest;
 import com.example.auth.dto.LoginResponse;
+import com.example.auth.dto.RefreshRequest;
 import com.example.auth.dto.RegisterRequest;
 import com.example.auth.model.User;
 import com.example.auth.repository.UserRepository;
 import com.example.auth.service.AuthService;
+import com.example.auth.service.InvalidRefreshTokenException;
+import com.example.auth.service.LoginThrottledException;
+import com.example.auth.service.PasswordHasher;
+import com.example.auth.service.PasswordHashingBusyException;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -25,11 +38,42 @@ public class AuthController {
     @Autowired
     private UserRepository userRepository;
 
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Value("${auth.hash.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    // X-Forwarded-For 를 믿는 직전 hop 주소/대역 (게이트웨이). 기본 = 루프백만
+    @Value("${auth.throttle.trusted-proxies:127.0.0.1/32,::1/128}")
+    private List<String> trustedProxies;
+
+    private List<IpAddressMatcher> proxyMatchers;
+
+    @PostConstruct
+    void initProxyMatchers() {
+        proxyMatchers = trustedProxies.stream()
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
 
     @PostMapping("/login")
-    public Mono<ResponseEntity<LoginResponse>> login(@RequestBody LoginRequest loginRequest) {
-        return Mono.just(authService.login(loginRequest))
+    public Mono<ResponseEntity<LoginResponse>> login(@RequestBody LoginRequest loginRequest,
+                                                     HttpServletRequest request) {
+        String clientIp = clientIp(request);
+        // 해시가 끝나면 응답 (요청 스레드는 바로 반환)
+        // 토큰 발급(DB insert)은 해시 스레드가 아닌 boundedElastic 에서 → 해시 처리량이 DB 지연에 묶이지 않게
+        return Mono.defer(() -> Mono.fromFuture(authService.authenticate(loginRequest, clientIp)))
+                .publishOn(Schedulers.boundedElastic())
+                .map(user -> ResponseEntity.ok(authService.issueTokens(user)));
+    }
+
+    /** access token 재발급 + refresh token 회전 (401 이면 다시 로그인) */
+    @PostMapping("/refresh")
+    public Mono<ResponseEntity<LoginResponse>> refresh(@RequestBody RefreshRequest refreshRequest) {
+        return Mono.just(authService.refresh(refreshRequest.getRefreshToken()))
                 .map(response -> ResponseEntity.ok(response));
     }
 
@@ -41,14 +85,56 @@ public class AuthController {
                         return Mono.just(ResponseEntity.badRequest().build());
                     }
 
-                    User user = new User();
-                    user.setUsername(request.getUsername());
-                    user.setPassword(passwordEncoder.encode(request.getPassword()));
-                    user.setEmail(request.getEmail());
-                    user.setRole("ROLE_USER");
+                    return Mono.fromFuture(passwordHasher.encode(request.getPassword()))
+                            .publishOn(Schedulers.boundedElastic()) // 저장은 해시 스레드 밖에서
+                            .map(encoded -> {
+                                User user = new User();
+                                user.setUsername(request.getUsername());
+                                user.setPassword(encoded);
+                                user.setEmail(request.getEmail());
+                                user.setRole("ROLE_USER");
 
-                    userRepository.save(user);
-                    return Mono.just(ResponseEntity.ok().build());
+                                userRepository.save(user);
+                                return ResponseEntity.ok().<Void>build();
+                            });
                 });
     }
-} 
\ No newline at end of file
+
+    /**
+     * 클라이언트 IP (로그인 IP 제한 키)
+     * - 직전 hop 이 trusted-proxies 가 아니면 연결 주소 (헤더는 호출자가 꾸밀 수 있으므로 무시)
+     * - 신뢰 프록시면 X-Forwarded-For 의 마지막 값 (게이트웨이가 붙인 값, 앞쪽 값은 쓰지 않음)
+     * - 신뢰 프록시인데 헤더가 없으면 연결 주소 (헤더를 빼서 IP 제한을 피할 수 없도록)
+     */
+    private String clientIp(HttpServletRequest request) {
+        String peer = request.getRemoteAddr();
+        if (proxyMatchers.stream().noneMatch(m -> m.matches(peer))) {
+            return peer;
+        }
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded == null || forwarded.isBlank()) {
+            return peer;
+        }
+        String[] hops = forwarded.split(",");
+        return hops[hops.length - 1].trim();
+    }
+
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<String> handleThrottled(LoginThrottledException e) {
+        return ResponseEntity.status(429)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<String> handleBusy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(429)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(e.getMessage());
+    }
+
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<String> handleInvalidRefresh(InvalidRefreshTokenException e) {
+        return ResponseEntity.status(401).body(e.getMessage());
+    }
+}
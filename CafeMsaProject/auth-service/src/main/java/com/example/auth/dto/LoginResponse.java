@@ -12,4 +12,5 @@ public class LoginResponse {
     private String username;
     private String role;
     private Long userId;
+    private String refreshToken; // POST /api/auth/refresh 용 (갱신할 때마다 바뀜)
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.example.auth.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * refresh token (원문은 저장하지 않고 SHA-256 만)
+ * - 같은 로그인에서 회전으로 이어진 토큰들은 같은 familyId
+ * - 회전하면 usedAt 기록 → 이미 사용된 토큰이 다시 오면 탈취로 보고 family 전체 revoked
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "refresh_tokens",
+        indexes = {
+                @Index(name = "uk_refresh_tokens_hash", columnList = "token_hash", unique = true), // 갱신 시 조회
+                @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),              // 재사용 시 family 폐기
+                @Index(name = "idx_refresh_tokens_user", columnList = "user_id"),
+                @Index(name = "idx_refresh_tokens_expires", columnList = "expires_at")             // 만료 정리
+        })
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, length = 44)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "used_at")
+    private Instant usedAt;
+
+    @Column(nullable = false)
+    private boolean revoked;
+}
@@ -6,9 +6,10 @@ import com.example.auth.model.User;
 import com.example.auth.repository.UserRepository;
 import com.example.auth.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class AuthService {
 
@@ -18,17 +19,57 @@ public class AuthService {
     @Autowired
     private JwtUtil jwtUtil;
 
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
 
-    public LoginResponse login(LoginRequest loginRequest) {
-        User user = userRepository.findByUsername(loginRequest.getUsername())
-                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+    /**
+     * 시도 제한 확인 → 사용자 조회(요청 스레드) → 비밀번호 확인(BCrypt, PasswordHasher 스레드).
+     * 결과 future 는 해시 스레드에서 완료됨 → 토큰 발급(issueTokens)은 호출 측이 다른 스레드로 옮겨서 할 것
+     * 제한에 걸리면 LoginThrottledException, 해시 대기열이 가득 차면 PasswordHashingBusyException (둘 다 바로 던짐)
+     */
+    public CompletableFuture<User> authenticate(LoginRequest loginRequest, String clientIp) {
+        String username = loginRequest.getUsername();
+        loginThrottle.check(username, clientIp); // DB 조회/해시 전에
 
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
-            throw new RuntimeException("비밀번호가 일치하지 않습니다.");
+        User user = userRepository.findByUsername(username).orElse(null);
+        if (user == null) {
+            loginThrottle.recordFailure(username, clientIp);
+            throw new RuntimeException("사용자를 찾을 수 없습니다.");
         }
 
+        return passwordHasher.matches(loginRequest.getPassword(), user.getPassword())
+                .thenApply(matched -> {
+                    // 메모리 기록만 (DB 작업은 여기서 하지 않음)
+                    if (!matched) {
+                        loginThrottle.recordFailure(username, clientIp);
+                        throw new RuntimeException("비밀번호가 일치하지 않습니다.");
+                    }
+                    loginThrottle.recordSuccess(username, clientIp);
+                    return user;
+                });
+    }
+
+    /** 인증된 사용자에게 access token + 새 refresh token 발급 (DB 쓰기, 해시 스레드 밖에서 호출) */
+    public LoginResponse issueTokens(User user) {
+        String token = jwtUtil.generateToken(user.getUsername(), user.getRole());
+        return new LoginResponse(token, user.getUsername(), user.getRole(), user.getId(),
+                refreshTokenService.issue(user.getId()));
+    }
+
+    /** access token 재발급 (비밀번호 확인 없음, refresh token 도 새로 교체) */
+    public LoginResponse refresh(String refreshToken) {
+        RefreshTokenService.Rotated rotated = refreshTokenService.rotate(refreshToken);
+        User user = userRepository.findById(rotated.userId())
+                .orElseThrow(() -> new InvalidRefreshTokenException("사용자를 찾을 수 없습니다."));
+
+        // 권한은 토큰이 아니라 현재 사용자 정보 기준
         String token = jwtUtil.generateToken(user.getUsername(), user.getRole());
-        return new LoginResponse(token, user.getUsername(), user.getRole(), user.getId());
+        return new LoginResponse(token, user.getUsername(), user.getRole(), user.getId(), rotated.refreshToken());
     }
 } 
\ No newline at end of file
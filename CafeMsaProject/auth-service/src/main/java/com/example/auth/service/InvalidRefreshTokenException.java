@@ -0,0 +1,8 @@
+package com.example.auth.service;
+
+/** refresh token 없음/만료/재사용 (→ 401, 다시 로그인) */
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
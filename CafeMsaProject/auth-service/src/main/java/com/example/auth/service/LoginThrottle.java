@@ -0,0 +1,191 @@
+package com.example.auth.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인 무차별 대입 제한 (인스턴스 메모리)
+ * - 사용자명별 / 클라이언트 IP별 토큰 버킷: 시도마다 1개 소모, 분당 refill 개 충전 → 초과하면 429
+ * - 연속 실패가 maxFailures 에 닿으면 잠금, 잠길 때마다 기간 2배 (lockoutBase → 최대 lockoutMax). 성공하면 초기화
+ * - 검사는 DB 조회/BCrypt 전에 → 막힌 요청은 CPU 를 쓰지 않음
+ * - 키마다 상태는 작고, 최대 maxEntries 개까지만 (가장 오래 안 쓴 것부터 버림, LRU)
+ *   단 잠겨 있는 키는 버리지 않음 → 가득 찼는데 전부 잠겨 있으면 새 키를 받지 않음 (429)
+ *   (아무 사용자명이나 잔뜩 보내 피해자의 잠금/실패 횟수를 밀어내지 못하도록)
+ */
+@Component
+public class LoginThrottle {
+
+    private final Limiter byUsername;
+    private final Limiter byIp;
+    private final long lockoutBaseNanos;
+    private final long lockoutMaxNanos;
+
+    public LoginThrottle(MeterRegistry registry,
+                         @Value("${auth.throttle.max-entries:10000}") int maxEntries,
+                         @Value("${auth.throttle.username.capacity:5}") int usernameCapacity,
+                         @Value("${auth.throttle.username.refill-per-minute:5}") int usernameRefill,
+                         @Value("${auth.throttle.username.max-failures:5}") int usernameMaxFailures,
+                         @Value("${auth.throttle.ip.capacity:20}") int ipCapacity,
+                         @Value("${auth.throttle.ip.refill-per-minute:20}") int ipRefill,
+                         @Value("${auth.throttle.ip.max-failures:20}") int ipMaxFailures,
+                         @Value("${auth.throttle.lockout-base:30s}") Duration lockoutBase,
+                         @Value("${auth.throttle.lockout-max:15m}") Duration lockoutMax) {
+        this.lockoutBaseNanos = lockoutBase.toNanos();
+        this.lockoutMaxNanos = lockoutMax.toNanos();
+        this.byUsername = new Limiter(maxEntries, usernameCapacity, usernameRefill, usernameMaxFailures,
+                Counter.builder("auth.login.throttled").tag("scope", "username")
+                        .description("한도 초과/잠금으로 막은 로그인 시도").register(registry));
+        this.byIp = new Limiter(maxEntries, ipCapacity, ipRefill, ipMaxFailures,
+                Counter.builder("auth.login.throttled").tag("scope", "ip")
+                        .description("한도 초과/잠금으로 막은 로그인 시도").register(registry));
+    }
+
+    /**
+     * 시도 가능하면 통과 (두 버킷에서 1개씩 소모), 아니면 LoginThrottledException
+     * 두 버킷을 모두 확인한 뒤에만 소모 → 한쪽에서 막히면 다른 쪽 토큰은 그대로
+     * 잠금 순서는 항상 사용자명 → IP (다른 메서드는 한 번에 하나만 잡으므로 교착 없음)
+     */
+    public void check(String username, String clientIp) {
+        check(username, clientIp, System.nanoTime());
+    }
+
+    void check(String username, String clientIp, long now) {
+        String userKey = key(username);
+        String ipKey = key(clientIp);
+        long wait;
+        synchronized (byUsername) {
+            synchronized (byIp) {
+                wait = Math.max(byUsername.waitNanos(userKey, now), byIp.waitNanos(ipKey, now));
+                if (wait == 0) {
+                    byUsername.consume(userKey);
+                    byIp.consume(ipKey);
+                }
+            }
+        }
+        if (wait > 0) {
+            throw new LoginThrottledException(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999L)));
+        }
+    }
+
+    public void recordFailure(String username, String clientIp) {
+        recordFailure(username, clientIp, System.nanoTime());
+    }
+
+    void recordFailure(String username, String clientIp, long now) {
+        byUsername.failure(key(username), now);
+        byIp.failure(key(clientIp), now);
+    }
+
+    public void recordSuccess(String username, String clientIp) {
+        byUsername.success(key(username));
+        byIp.success(key(clientIp));
+    }
+
+    private static String key(String s) {
+        return (s == null) ? "" : s.trim();
+    }
+
+    /** 키 하나의 상태 */
+    private static final class State {
+        double tokens;
+        long refilledAt;
+        int failures;     // 연속 실패
+        int lockouts;     // 지금까지 잠긴 횟수 (기간 2배씩)
+        long lockedUntil;
+
+        boolean locked(long now) {
+            return lockouts > 0 && lockedUntil - now > 0;
+        }
+    }
+
+    /** 키별 토큰 버킷 + 잠금, LRU 로 개수 제한 (접근 순서 LinkedHashMap, 맵 단위 잠금 - 구간이 짧음) */
+    private final class Limiter {
+        private final int maxEntries;
+        private final int capacity;
+        private final double tokensPerNano;
+        private final int maxFailures;
+        private final Counter throttled;
+        private final Map<String, State> states;
+
+        Limiter(int maxEntries, int capacity, int refillPerMinute, int maxFailures, Counter throttled) {
+            this.maxEntries = maxEntries;
+            this.capacity = capacity;
+            this.tokensPerNano = refillPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+            this.maxFailures = maxFailures;
+            this.throttled = throttled;
+            this.states = new LinkedHashMap<>(256, 0.75f, true);
+        }
+
+        /** 충전만 하고 소모하지 않음. 0 = 시도 가능, 그 외 = 다시 시도까지 남은 나노초 */
+        synchronized long waitNanos(String key, long now) {
+            State s = states.get(key);
+            if (s == null) {
+                if (states.size() >= maxEntries && !evictUnlocked(now)) {
+                    throttled.increment();
+                    return lockoutBaseNanos; // 잠긴 키로 가득 참
+                }
+                s = new State();
+                s.tokens = capacity;
+                s.refilledAt = now;
+                states.put(key, s);
+            }
+            if (s.locked(now)) {
+                throttled.increment();
+                return s.lockedUntil - now;
+            }
+            s.tokens = Math.min(capacity, s.tokens + (now - s.refilledAt) * tokensPerNano);
+            s.refilledAt = now;
+            if (s.tokens < 1) {
+                throttled.increment();
+                return (long) Math.ceil((1 - s.tokens) / tokensPerNano);
+            }
+            return 0;
+        }
+
+        /** 가장 오래 안 쓴 키부터 보며 잠기지 않은 것 하나를 버림. 전부 잠겨 있으면 false */
+        private boolean evictUnlocked(long now) {
+            Iterator<State> it = states.values().iterator();
+            while (it.hasNext()) {
+                if (!it.next().locked(now)) {
+                    it.remove();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** waitNanos 가 0 을 준 직후 같은 잠금 안에서 호출 */
+        synchronized void consume(String key) {
+            State s = states.get(key);
+            if (s != null) {
+                s.tokens -= 1;
+            }
+        }
+
+        synchronized void failure(String key, long now) {
+            State s = states.get(key);
+            if (s == null) return; // 그 사이 LRU 로 밀려남
+            if (++s.failures >= maxFailures) {
+                long lock = lockoutBaseNanos << Math.min(s.lockouts, 20);
+                s.lockedUntil = now + Math.min(lock, lockoutMaxNanos);
+                s.lockouts++;
+                s.failures = 0;
+            }
+        }
+
+        synchronized void success(String key) {
+            State s = states.get(key);
+            if (s == null) return;
+            s.failures = 0;
+            s.lockouts = 0;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.auth.service;
+
+import lombok.Getter;
+
+/** 로그인 시도 한도 초과/잠금 (→ 429 + Retry-After) */
+@Getter
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(long retryAfterSeconds) {
+        super("로그인 시도가 너무 많습니다. " + retryAfterSeconds + "초 후 다시 시도해 주세요.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
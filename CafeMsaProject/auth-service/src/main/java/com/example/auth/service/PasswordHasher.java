@@ -0,0 +1,96 @@
+package com.example.auth.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt 전용 실행기
+ * - 해시는 CPU 작업이라 스레드 수 = CPU 수 (요청 스레드는 기다리지 않고 반환됨)
+ * - 이 스레드에서는 encode/matches 만. 반환 future 는 해시 스레드에서 완료되므로 이어지는 DB/JWT 작업은 호출 측이 다른 스레드로 옮김
+ * - 대기열은 queueCapacity 까지만, 넘치면 바로 PasswordHashingBusyException (→ 429) — 밀린 요청이 쌓여 지연만 늘지 않게
+ * - 지표: auth.hash.queue.depth (대기 중), auth.hash.latency{op} (해시 시간), auth.hash.wait (대기 시간), auth.hash.rejected
+ */
+@Component
+public class PasswordHasher {
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer matchesTimer;
+    private final Timer encodeTimer;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public PasswordHasher(BCryptPasswordEncoder encoder,
+                          MeterRegistry registry,
+                          @Value("${auth.hash.threads:0}") int threads,
+                          @Value("${auth.hash.queue-capacity:64}") int queueCapacity) {
+        this.encoder = encoder;
+        int n = (threads > 0) ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(n, n, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "bcrypt-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.hash.queue.depth", executor, e -> e.getQueue().size())
+                .description("해시 대기 중인 요청 수")
+                .register(registry);
+        Gauge.builder("auth.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("해시 중인 스레드 수")
+                .register(registry);
+        this.matchesTimer = Timer.builder("auth.hash.latency").tag("op", "matches")
+                .description("BCrypt 해시 소요 시간").register(registry);
+        this.encodeTimer = Timer.builder("auth.hash.latency").tag("op", "encode")
+                .description("BCrypt 해시 소요 시간").register(registry);
+        this.waitTimer = Timer.builder("auth.hash.wait")
+                .description("해시 실행 전 대기열에서 기다린 시간").register(registry);
+        this.rejected = Counter.builder("auth.hash.rejected")
+                .description("대기열이 가득 차서 거절한 요청 수").register(registry);
+    }
+
+    /** 비밀번호 확인 (해시 스레드에서). 대기열이 가득 차면 바로 PasswordHashingBusyException */
+    public CompletableFuture<Boolean> matches(CharSequence raw, String encoded) {
+        return submit(matchesTimer, () -> encoder.matches(raw, encoded));
+    }
+
+    /** 비밀번호 해시 (해시 스레드에서) */
+    public CompletableFuture<String> encode(CharSequence raw) {
+        return submit(encodeTimer, () -> encoder.encode(raw));
+    }
+
+    private <T> CompletableFuture<T> submit(Timer timer, Supplier<T> work) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return timer.record(work);
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
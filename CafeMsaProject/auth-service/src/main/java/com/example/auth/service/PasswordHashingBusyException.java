@@ -0,0 +1,8 @@
+package com.example.auth.service;
+
+/** 해시 전용 스레드/대기열이 가득 참 (→ 429 + Retry-After) */
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException() {
+        super("요청이 많습니다. 잠시 후 다시 시도해 주세요.");
+    }
+}
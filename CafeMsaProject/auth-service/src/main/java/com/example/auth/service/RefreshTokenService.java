@@ -0,0 +1,101 @@
+package com.example.auth.service;
+
+import com.example.auth.model.RefreshToken;
+import com.example.auth.repository.RefreshTokenRepository;
+import com.example.auth.util.TokenHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * refresh token 발급/회전
+ * - 토큰 = 임의 32바이트 (JWT 아님), DB 에는 해시만 → 갱신 비용은 unique 인덱스 조회 1번 (BCrypt 없음)
+ * - 갱신할 때마다 새 토큰으로 교체 (회전), 쓴 토큰을 다시 내밀면 재사용 → 그 family 전체 폐기
+ * - 만료된 행은 주기적으로 삭제 (만료 전까지는 재사용 탐지용으로 남겨 둠)
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    /** 회전 결과 (누구의 토큰인지 + 새 refresh token 원문) */
+    public record Rotated(Long userId, String refreshToken) {}
+
+    private final SecureRandom random = new SecureRandom();
+    private final RefreshTokenRepository repository;
+    private final Duration validity;
+
+    public RefreshTokenService(RefreshTokenRepository repository,
+                               @Value("${jwt.refresh-expiration:1209600000}") long refreshValidityMs) {
+        this.repository = repository;
+        this.validity = Duration.ofMillis(refreshValidityMs);
+    }
+
+    /** 로그인 시 새 family 로 발급 */
+    @Transactional
+    public String issue(Long userId) {
+        return create(userId, UUID.randomUUID().toString());
+    }
+
+    /** 회전. 없음/만료/재사용이면 InvalidRefreshTokenException (재사용이면 family 폐기는 커밋됨) */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotated rotate(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new InvalidRefreshTokenException("refreshToken이 필요합니다.");
+        }
+        RefreshToken current = repository.findByTokenHash(TokenHash.sha256(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("유효하지 않은 refresh token 입니다."));
+
+        Instant now = Instant.now();
+        if (current.isRevoked() || current.getUsedAt() != null
+                || repository.markUsed(current.getId(), now) == 0) { // 동시에 온 두 번째 요청도 재사용
+            int revoked = repository.revokeFamily(current.getFamilyId());
+            log.warn("refresh token 재사용 감지: userId={}, family={} ({}개 폐기)",
+                    current.getUserId(), current.getFamilyId(), revoked);
+            throw new InvalidRefreshTokenException("이미 사용된 refresh token 입니다. 다시 로그인해 주세요.");
+        }
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new InvalidRefreshTokenException("만료된 refresh token 입니다. 다시 로그인해 주세요.");
+        }
+        return new Rotated(current.getUserId(), create(current.getUserId(), current.getFamilyId()));
+    }
+
+    /** 사용자 삭제 시 */
+    @Transactional
+    public void deleteAllForUser(Long userId) {
+        repository.deleteByUserId(userId);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${jwt.refresh-purge-interval-ms:3600000}",
+               initialDelayString = "${jwt.refresh-purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int removed = repository.deleteExpired(Instant.now());
+        if (removed > 0) {
+            log.info("만료 refresh token 정리: {}건", removed);
+        }
+    }
+
+    private String create(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        RefreshToken t = new RefreshToken();
+        t.setTokenHash(TokenHash.sha256(raw));
+        t.setFamilyId(familyId);
+        t.setUserId(userId);
+        t.setCreatedAt(now);
+        t.setExpiresAt(now.plus(validity));
+        repository.save(t);
+        return raw;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.auth.service;
+
+import com.example.auth.util.JwtUtil;
+import com.example.auth.util.TokenHash;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 검증된 access token 캐시 (인스턴스 로컬)
+ * - 같은 토큰이 만료까지 매 요청마다 오므로 서명 검증 결과를 재사용
+ * - 키 = 토큰 SHA-256 (원문 토큰은 메모리에 두지 않음), 최대 maxSize 개
+ * - 항목 수명 = 토큰 exp 까지 → 캐시가 토큰보다 오래 살 수 없음. 실패한 토큰은 캐시하지 않음
+ * - revokeUser(): 그 사용자 항목 삭제 + 그 시각 이전 발급 토큰 거부 (토큰 유효기간 동안만 기억)
+ * - 무효화 기록은 크기 제한 없이 access token 유효기간 동안 유지 (개수 초과로 밀려나면 무효화가 풀리므로)
+ * - 무효화는 이 인스턴스에만 적용됨. auth-service 를 여러 대 띄우면 다른 인스턴스는 토큰 만료까지 계속 받음
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, JwtUtil.Principal> verified;
+    private final Cache<String, Instant> revokedBefore; // username → 이 시각 이전 발급 토큰은 거부 (크기 제한 없음)
+    private final Counter revocations;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              MeterRegistry registry,
+                              @Value("${jwt.token-cache.max-size:10000}") long maxSize,
+                              @Value("${jwt.access-token-validity-ms:900000}") long accessValidityMs) {
+        this.jwtUtil = jwtUtil;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ExpireAtTokenExp())
+                .recordStats()
+                .build();
+        // 무효화 시점 직전에 발급된 토큰이 만료될 때까지 남겨야 함 (iat 초 단위 절삭분 1초 여유)
+        this.revokedBefore = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(accessValidityMs).plusSeconds(1))
+                .build();
+
+        // 적중/미스 (cache.gets{result=hit|miss}) + 적중률 게이지
+        CaffeineCacheMetrics.monitor(registry, verified, "verifiedTokens");
+        Gauge.builder("auth.token.cache.hit.ratio", verified, c -> c.stats().hitRate())
+                .register(registry);
+        this.revocations = Counter.builder("auth.token.revocations")
+                .description("사용자 토큰 무효화 건수")
+                .register(registry);
+    }
+
+    /** 검증 (캐시에 없을 때만 서명 확인). 유효하지 않거나 무효화된 토큰이면 JwtException */
+    public JwtUtil.Principal verify(String token) {
+        String key = TokenHash.sha256(token);
+        JwtUtil.Principal p = verified.get(key, k -> jwtUtil.parseVerified(token));
+        Instant cutoff = revokedBefore.getIfPresent(p.username() == null ? "" : p.username());
+        if (cutoff != null && (p.issuedAt() == null || !p.issuedAt().isAfter(cutoff))) {
+            verified.invalidate(key);
+            throw new JwtException("무효화된 토큰입니다.");
+        }
+        return p;
+    }
+
+    /**
+     * 사용자 토큰 무효화 (권한 변경/삭제 시). 지금까지 발급된 토큰은 만료 전이라도 거부.
+     * iat 가 초 단위라 무효화 직후 1초 안에 새로 발급된 토큰도 거부될 수 있음 (다시 로그인하면 됨)
+     */
+    public void revokeUser(String username) {
+        if (username == null) return;
+        revokedBefore.put(username, Instant.now());
+        verified.asMap().values().removeIf(p -> username.equals(p.username()));
+        revocations.increment();
+        log.info("토큰 무효화: {}", username);
+    }
+
+    /** 항목 만료 = 토큰 exp (읽기/갱신으로 늘어나지 않음) */
+    private static final class ExpireAtTokenExp implements Expiry<String, JwtUtil.Principal> {
+        @Override
+        public long expireAfterCreate(String key, JwtUtil.Principal p, long currentTime) {
+            if (p.expiresAt() == null) return 0; // exp 없는 토큰은 캐시하지 않음
+            return Math.max(0, Duration.between(Instant.now(), p.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtUtil.Principal p, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, p, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtUtil.Principal p, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
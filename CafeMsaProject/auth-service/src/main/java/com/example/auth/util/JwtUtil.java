@@ -1,6 +1,7 @@
 package com.example.auth.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -17,17 +19,33 @@ import java.util.Map;
 @Component
 public class JwtUtil {
 
+    /** 검증된 토큰 내용 (불변). role 은 발급 때 넣은 값 그대로 (ROLE_OWNER / ROLE_USER) */
+    public record Principal(String username, String role, Instant issuedAt, Instant expiresAt) {}
+
     @Value("${jwt.secret}")
     private String secret;
     @Value("${jwt.access-token-validity-ms:900000}") // 15분 기본
     private long accessValidityMs;
 
     private Key signingKey;
+    private JwtParser parser; // 불변 → 스레드 안전, 요청마다 새로 만들지 않음
 
     @PostConstruct
     public void init() {
         // secret이 Base64가 아니라면 아래처럼 키 생성 (jjwt 0.11.x 기준)
         this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
+
+    /**
+     * 서명 + 만료 검증을 한 번만 하고 필요한 값을 한꺼번에 꺼냄.
+     * 유효하지 않으면 JwtException (만료 = ExpiredJwtException), 빈 토큰이면 IllegalArgumentException
+     */
+    public Principal parseVerified(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        return new Principal(claims.getSubject(), claims.get("role", String.class),
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
     }
 
     public String generateToken(String username, String role) {
@@ -45,22 +63,4 @@ public class JwtUtil {
                 .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
-
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    public String extractRole(String token) {
-        return extractClaim(token, claims -> (String) claims.get("role"));
-    }
-
-    public <T> T extractClaim(String token, java.util.function.Function<Claims, T> resolver) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(signingKey).build()
-                .parseClaimsJws(token).getBody();
-        return resolver.apply(claims);
-    }
-
-    public boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,22 @@
+package com.example.auth.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/** 토큰 원문 대신 보관/조회용 해시 (SHA-256, Base64 44자) */
+public final class TokenHash {
+
+    private TokenHash() {
+    }
+
+    public static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // SHA-256 은 JDK 기본 제공
+        }
+    }
+}
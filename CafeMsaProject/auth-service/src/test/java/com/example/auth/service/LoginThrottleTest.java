@@ -0,0 +1,151 @@
+package com.example.auth.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final String IP = "203.0.113.7";
+
+    /** 사용자명: 용량 5, 분당 5개 충전, 실패 3번이면 잠금 (30초부터 2배, 최대 15분). IP 는 넉넉하게 */
+    private static LoginThrottle throttle(int maxEntries) {
+        return new LoginThrottle(new SimpleMeterRegistry(), maxEntries,
+                5, 5, 3,
+                1000, 1000, 1000,
+                Duration.ofSeconds(30), Duration.ofMinutes(15));
+    }
+
+    private static long retryAfter(LoginThrottle throttle, String username, long now) {
+        try {
+            throttle.check(username, IP, now);
+        } catch (LoginThrottledException e) {
+            return e.getRetryAfterSeconds();
+        }
+        throw new AssertionError("막혀야 함");
+    }
+
+    private static void fail(LoginThrottle throttle, String username, int times, long now) {
+        for (int i = 0; i < times; i++) {
+            throttle.check(username, IP, now);
+            throttle.recordFailure(username, IP, now);
+        }
+    }
+
+    @Test
+    void bucketAllowsCapacityThenRefillsOneTokenPerInterval() {
+        LoginThrottle throttle = throttle(100);
+        long now = 0;
+        for (int i = 0; i < 5; i++) {
+            throttle.check("alice", IP, now);
+        }
+        assertThatThrownBy(() -> throttle.check("alice", IP, 0))
+                .isInstanceOf(LoginThrottledException.class);
+
+        // 분당 5개 → 12초에 1개
+        assertThatThrownBy(() -> throttle.check("alice", IP, 11 * SECOND))
+                .isInstanceOf(LoginThrottledException.class);
+        assertThatCode(() -> throttle.check("alice", IP, 12 * SECOND + 1_000_000))
+                .doesNotThrowAnyException();
+        // 다른 사용자명은 자기 버킷
+        assertThatCode(() -> throttle.check("bob", IP, 0)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void blockedAttemptDoesNotConsumeTheOtherBucket() {
+        LoginThrottle throttle = new LoginThrottle(new SimpleMeterRegistry(), 100,
+                1, 5, 100,
+                3, 5, 100,
+                Duration.ofSeconds(30), Duration.ofMinutes(15));
+        throttle.check("alice", IP, 0);
+        // alice 버킷이 비어 막힘 → IP 토큰은 그대로
+        assertThatThrownBy(() -> throttle.check("alice", IP, 0)).isInstanceOf(LoginThrottledException.class);
+        assertThatThrownBy(() -> throttle.check("alice", IP, 0)).isInstanceOf(LoginThrottledException.class);
+        throttle.check("bob", IP, 0);
+        throttle.check("carol", IP, 0);
+        assertThatThrownBy(() -> throttle.check("dave", IP, 0)).isInstanceOf(LoginThrottledException.class);
+    }
+
+    @Test
+    void lockoutDoublesOnEachLockAndResetsOnSuccess() {
+        LoginThrottle throttle = throttle(100);
+        long now = 0;
+
+        fail(throttle, "alice", 3, now);
+        assertThat(retryAfter(throttle, "alice", now)).isEqualTo(30);
+
+        now += 30 * SECOND;
+        fail(throttle, "alice", 3, now);
+        assertThat(retryAfter(throttle, "alice", now)).isEqualTo(60);
+
+        now += 60 * SECOND;
+        fail(throttle, "alice", 3, now);
+        assertThat(retryAfter(throttle, "alice", now)).isEqualTo(120);
+
+        // 잠금이 풀린 뒤 성공 → 다음 잠금은 다시 30초부터
+        now += 120 * SECOND;
+        throttle.check("alice", IP, now);
+        throttle.recordSuccess("alice", IP);
+        now += 60 * SECOND; // 버킷 충전
+        fail(throttle, "alice", 3, now);
+        assertThat(retryAfter(throttle, "alice", now)).isEqualTo(30);
+    }
+
+    @Test
+    void lockoutIsCappedAtMax() {
+        LoginThrottle throttle = throttle(100);
+        long now = 0;
+        long last = 0;
+        for (int i = 0; i < 8; i++) {
+            fail(throttle, "alice", 3, now);
+            last = retryAfter(throttle, "alice", now);
+            now += last * SECOND + 60 * SECOND; // 잠금 해제 + 버킷 충전
+        }
+        assertThat(last).isEqualTo(TimeUnit.MINUTES.toSeconds(15));
+    }
+
+    @Test
+    void successBeforeLockClearsFailureCount() {
+        LoginThrottle throttle = throttle(100);
+        fail(throttle, "alice", 2, 0);
+        throttle.check("alice", IP, 0);
+        throttle.recordSuccess("alice", IP);
+        fail(throttle, "alice", 2, 0);
+        // 연속 실패 2번뿐 → 잠기지 않음 (버킷은 5개 모두 씀)
+        assertThat(retryAfter(throttle, "alice", 12 * SECOND - 1)).isLessThan(30);
+        assertThatCode(() -> throttle.check("alice", IP, 12 * SECOND + 1_000_000))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void lockedKeysAreNotEvictedWhenTheTableIsFull() {
+        LoginThrottle throttle = throttle(3);
+        fail(throttle, "victim", 3, 0);
+
+        // 아무 사용자명으로 표를 계속 채워도 victim 의 잠금은 남음
+        for (int i = 0; i < 50; i++) {
+            throttle.check("junk-" + i, IP, SECOND);
+            throttle.recordFailure("junk-" + i, IP, SECOND);
+        }
+        assertThat(retryAfter(throttle, "victim", 2 * SECOND)).isEqualTo(28);
+    }
+
+    @Test
+    void newKeysAreRefusedWhileEveryEntryIsLocked() {
+        LoginThrottle throttle = throttle(2);
+        fail(throttle, "a", 3, 0);
+        fail(throttle, "b", 3, 0);
+
+        assertThatThrownBy(() -> throttle.check("c", IP, SECOND))
+                .isInstanceOf(LoginThrottledException.class);
+        // 잠금이 풀리면 다시 받음
+        assertThatCode(() -> throttle.check("c", IP, 31 * SECOND)).doesNotThrowAnyException();
+    }
+}
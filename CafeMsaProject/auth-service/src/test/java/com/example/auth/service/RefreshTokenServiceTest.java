@@ -0,0 +1,95 @@
+package com.example.auth.service;
+
+import com.example.auth.model.RefreshToken;
+import com.example.auth.repository.RefreshTokenRepository;
+import com.example.auth.util.TokenHash;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "eureka.client.enabled=false")
+@Import(RefreshTokenService.class)
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenService service;
+
+    @Autowired
+    private RefreshTokenRepository repository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Test
+    void rotateIssuesNewTokenInSameFamily() {
+        String first = service.issue(7L);
+
+        RefreshTokenService.Rotated rotated = service.rotate(first);
+
+        assertThat(rotated.userId()).isEqualTo(7L);
+        assertThat(rotated.refreshToken()).isNotEqualTo(first);
+        assertThat(find(rotated.refreshToken()).getFamilyId()).isEqualTo(find(first).getFamilyId());
+        assertThat(service.rotate(rotated.refreshToken()).userId()).isEqualTo(7L);
+    }
+
+    @Test
+    void rotatingTheSameTokenTwiceRevokesTheWholeFamily() {
+        String first = service.issue(7L);
+        String second = service.rotate(first).refreshToken();
+
+        assertThatThrownBy(() -> service.rotate(first))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        em.clear(); // 벌크 update 결과를 다시 읽음
+        String family = find(first).getFamilyId();
+        assertThat(repository.findAll())
+                .filteredOn(t -> t.getFamilyId().equals(family))
+                .hasSize(2)
+                .allMatch(RefreshToken::isRevoked);
+        // 정상 사용자가 받은 최신 토큰도 더는 못 씀
+        assertThatThrownBy(() -> service.rotate(second))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+    }
+
+    @Test
+    void reuseDoesNotTouchOtherFamilies() {
+        String stolen = service.issue(7L);
+        String otherDevice = service.issue(7L);
+        service.rotate(stolen);
+
+        assertThatThrownBy(() -> service.rotate(stolen))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        em.clear();
+        assertThat(find(otherDevice).isRevoked()).isFalse();
+        assertThat(service.rotate(otherDevice).userId()).isEqualTo(7L);
+    }
+
+    @Test
+    void unknownBlankAndExpiredTokensAreRejected() {
+        assertThatThrownBy(() -> service.rotate("nope"))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+        assertThatThrownBy(() -> service.rotate(" "))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        String expired = service.issue(7L);
+        RefreshToken row = find(expired);
+        row.setExpiresAt(Instant.now().minusSeconds(1));
+        em.flush();
+
+        assertThatThrownBy(() -> service.rotate(expired))
+                .isInstanceOf(InvalidRefreshTokenException.class)
+                .hasMessageContaining("만료");
+    }
+
+    private RefreshToken find(String rawToken) {
+        return repository.findByTokenHash(TokenHash.sha256(rawToken)).orElseThrow();
+    }
+}
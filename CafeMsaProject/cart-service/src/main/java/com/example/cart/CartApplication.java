@@ -3,9 +3,11 @@ package com.example.cart;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = "com.example.cart")
 @EnableDiscoveryClient
+@EnableScheduling
 public class CartApplication {
     public static void main(String[] args) {
         SpringApplication.run(CartApplication.class, args);
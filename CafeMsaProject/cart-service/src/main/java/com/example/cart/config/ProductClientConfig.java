@@ -1,15 +1,80 @@
 package com.example.cart.config;
 
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
 
 // src/main/java/com/example/cart/config/ProductClientConfig.java
 @Configuration
 public class ProductClientConfig {
+
+    /**
+     * 상품 서비스 전용 커넥션 풀
+     * - 동시 호출 수 = maxConnections, 대기열도 상한(pendingAcquireMaxCount)을 둬서 넘치면 즉시 실패
+     * - metrics(true): reactor.netty.connection.provider.* (active/idle/pending) 로 풀 포화도 노출
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider productConnectionProvider(
+            @Value("${catalog.client.max-connections:50}") int maxConnections,
+            @Value("${catalog.client.pending-acquire-max:100}") int pendingAcquireMax,
+            @Value("${catalog.client.pending-acquire-timeout:200ms}") Duration pendingAcquireTimeout) {
+        return ConnectionProvider.builder("product-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMax)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient productWebClient(@Value("${catalog.base-url:http://localhost:8000}") String baseUrl) {
-        return WebClient.builder().baseUrl(baseUrl).build();
+    public WebClient productWebClient(@Value("${catalog.base-url:http://localhost:8000}") String baseUrl,
+                                      @Value("${catalog.client.connect-timeout:300ms}") Duration connectTimeout,
+                                      @Value("${catalog.client.deadline:800ms}") Duration deadline,
+                                      ConnectionProvider productConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(productConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(deadline);
+        return WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    /**
+     * 상품 서비스가 느리거나 죽었을 때 빠르게 실패시키는 서킷브레이커
+     * - 없는 상품(404 → NoSuchElementException)은 실패로 세지 않음
+     * - 지표: resilience4j.circuitbreaker.* (name=product-service)
+     */
+    @Bean
+    public CircuitBreaker productCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${catalog.client.circuit.failure-rate:50}") float failureRate,
+            @Value("${catalog.client.circuit.open-duration:10s}") Duration openDuration) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRate)
+                .slidingWindowSize(20)
+                .minimumNumberOfCalls(10)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .ignoreExceptions(NoSuchElementException.class)
+                .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker("product-service");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,30 @@
+package com.example.cart.config;
+
+import com.example.cart.service.CachingProductLookup;
+import com.example.cart.service.HttpProductLookup;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+// HTTP 조회 모드일 때만 캐시 데코레이터를 앞에 둔다 (stub 모드는 캐시 불필요)
+@Configuration
+@ConditionalOnProperty(name = "catalog.stub", havingValue = "false", matchIfMissing = true)
+public class ProductLookupConfig {
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "catalog.cache.enabled", havingValue = "true", matchIfMissing = true)
+    public CachingProductLookup cachingProductLookup(
+            HttpProductLookup httpProductLookup,
+            MeterRegistry meterRegistry,
+            @Value("${catalog.cache.max-size:1000}") long maxSize,
+            @Value("${catalog.cache.ttl:5m}") Duration ttl,
+            @Value("${catalog.cache.negative-ttl:30s}") Duration negativeTtl) {
+        return new CachingProductLookup(httpProductLookup, meterRegistry, maxSize, ttl, negativeTtl);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.cart.config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitConfig {
+
+    // 상품 서비스가 발행하는 익스체인지/라우팅 키 (product-service RabbitConfig 와 동일)
+    public static final String PRODUCT_EVENTS_EXCHANGE = "product.events";
+    public static final String PRICE_CHANGED_KEY = "product.price-changed";
+
+    // 재가격은 DB 작업이라 인스턴스 중 하나만 처리 (공유 큐)
+    public static final String REPRICE_QUEUE = "cart.reprice.queue";
+    // 재시도 후에도 실패한 메시지 보관 (기본 익스체인지로 dead-letter)
+    public static final String REPRICE_DLQ = "cart.reprice.dlq";
+
+    @Bean
+    public TopicExchange productEventsExchange() {
+        return new TopicExchange(PRODUCT_EVENTS_EXCHANGE);
+    }
+
+    @Bean
+    public Queue repriceQueue() {
+        return QueueBuilder.durable(REPRICE_QUEUE)
+                .deadLetterExchange("")
+                .deadLetterRoutingKey(REPRICE_DLQ)
+                .build();
+    }
+
+    @Bean
+    public Queue repriceDeadLetterQueue() {
+        return QueueBuilder.durable(REPRICE_DLQ).build();
+    }
+
+    @Bean
+    public Binding repriceBinding() {
+        return BindingBuilder.bind(repriceQueue()).to(productEventsExchange()).with(PRICE_CHANGED_KEY);
+    }
+
+    // 스냅샷 캐시 무효화는 인스턴스마다 필요 → 인스턴스 전용 임시 큐
+    @Bean
+    public Queue productEventsInstanceQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding productEventsInstanceBinding() {
+        return BindingBuilder.bind(productEventsInstanceQueue()).to(productEventsExchange()).with(PRICE_CHANGED_KEY);
+    }
+
+    // 메시지 컨버터 (JSON 역직렬화, 보낸 쪽 클래스명 대신 리스너 파라미터 타입 기준)
+    @Bean
+    public MessageConverter jsonMessageConverter() {
+        Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+        converter.setAlwaysConvertToInferredType(true);
+        return converter;
+    }
+}
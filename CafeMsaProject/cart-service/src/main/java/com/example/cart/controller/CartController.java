@@ -2,13 +2,19 @@
 package com.example.cart.controller;
 
 import com.example.cart.dto.AddCartItemRequest;
+import com.example.cart.dto.AddCartItemsRequest;
 import com.example.cart.dto.CartItemResponse;
+import com.example.cart.dto.CartSummaryResponse;
 import com.example.cart.dto.UpdateQuantityRequest;
 import com.example.cart.service.CartUseCase;
+import com.example.cart.service.ProductLookupUnavailableException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -18,8 +24,14 @@ import java.util.NoSuchElementException;
 @RequiredArgsConstructor
 public class CartController {
 
+    private static final String USER_HEADER = "X-USER-ID";
+    private static final CacheControl PRIVATE_REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final CartUseCase cart; // 또는 CartUseCase로 주입받아도 됩니다.
 
+    // 기동 시각: 재시작하면 버전이 0부터 다시 시작하므로(메모리 모드, 기동 때 스키마 재생성) ETag 에 섞어 구분
+    private final String startupEpoch = Long.toString(System.currentTimeMillis(), 36);
+
     // 공통: 헤더 파싱
     private Long uid(String xUserId) {
         if (xUserId == null || xUserId.isBlank()) {
@@ -32,14 +44,35 @@ public class CartController {
         }
     }
 
-    /** 목록 조회 */
+    /**
+     * 목록 조회 (ETag = 사용자 id + 기동 시각 + 장바구니 버전)
+     * If-None-Match 가 현재 버전과 맞으면 라인 조회 없이 304 (비교는 WebRequest.checkNotModified: 목록, *, W/ 약한 비교 처리)
+     * 버전을 목록보다 먼저 읽으므로 사이에 변경이 끼면 새 목록 + 옛 ETag → 다음 요청에서 다시 받아감 (반대 경우는 없음)
+     * 사용자는 X-USER-ID 헤더로 구분되므로 Vary + private: 다른 사용자의 캐시 사본/ETag 가 섞이지 않게
+     */
     @GetMapping("/items")
     public ResponseEntity<List<CartItemResponse>> list(
             @RequestHeader("X-USER-ID")
-            String xUserId
+            String xUserId,
+            WebRequest request
+    ) {
+        Long userId = uid(xUserId);
+        String etag = "\"" + userId + "-" + startupEpoch + "-" + cart.version(userId) + "\"";
+        if (request.checkNotModified(etag)) {
+            // ETag 헤더는 checkNotModified 가 이미 설정
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(PRIVATE_REVALIDATE).varyBy(USER_HEADER).build();
+        }
+        return ResponseEntity.ok().eTag(etag)
+                .cacheControl(PRIVATE_REVALIDATE).varyBy(USER_HEADER).body(cart.list(userId));
+    }
 
+    /** 총 수량/총 금액 (네비 배지, 결제 화면용) */
+    @GetMapping("/summary")
+    public ResponseEntity<CartSummaryResponse> summary(
+            @RequestHeader("X-USER-ID") String xUserId
     ) {
-        return ResponseEntity.ok(cart.list(uid(xUserId)));
+        return ResponseEntity.ok(cart.summary(uid(xUserId)));
     }
 
     /** 담기 */
@@ -52,6 +85,15 @@ public class CartController {
         return ResponseEntity.ok(saved);
     }
 
+    /** 여러 개 한 번에 담기 */
+    @PostMapping("/items:batch")
+    public ResponseEntity<List<CartItemResponse>> addAll(
+            @RequestHeader("X-USER-ID") String xUserId,
+            @Valid @RequestBody AddCartItemsRequest req
+    ) {
+        return ResponseEntity.ok(cart.addAll(uid(xUserId), req.getItems()));
+    }
+
     /** 수량 변경 (0이면 삭제 → 204) */
     @PutMapping("/items/{id}")
     public ResponseEntity<CartItemResponse> change(
@@ -109,4 +151,9 @@ public class CartController {
     public ResponseEntity<String> handleNotFound(NoSuchElementException e) {
         return ResponseEntity.status(404).body(e.getMessage());
     }
+
+    @ExceptionHandler(ProductLookupUnavailableException.class)
+    public ResponseEntity<String> handleUnavailable(ProductLookupUnavailableException e) {
+        return ResponseEntity.status(503).body(e.getMessage());
+    }
 }
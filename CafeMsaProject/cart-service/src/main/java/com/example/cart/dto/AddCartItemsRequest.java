@@ -0,0 +1,18 @@
+package com.example.cart.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class AddCartItemsRequest {
+
+    @NotEmpty(message = "items는 1개 이상이어야 합니다.")
+    @Size(max = 100, message = "한 번에 최대 100개까지 담을 수 있습니다.")
+    private List<@Valid AddCartItemRequest> items;
+}
@@ -0,0 +1,15 @@
+package com.example.cart.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CartSummaryResponse {
+    private Integer totalQuantity; // 네비 배지
+    private Long totalAmount;      // 결제 금액
+
+    public static CartSummaryResponse empty() {
+        return new CartSummaryResponse(0, 0L);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.cart.dto;
+
+import java.math.BigDecimal;
+
+/** 상품 서비스 가격 변경 이벤트 (product.events / product.price-changed). 소수점 손실 없이 받도록 BigDecimal */
+public record ProductPriceChangedMessage(Long productId, BigDecimal oldPrice, BigDecimal newPrice) {}
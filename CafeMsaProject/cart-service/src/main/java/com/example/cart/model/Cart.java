@@ -0,0 +1,45 @@
+// model/Cart.java
+package com.example.cart.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 장바구니 헤더 (CARTS)
+ * - 총 수량/총 금액을 라인 변경 때마다 증감분(delta)으로 갱신해 두는 캐시
+ * - 요약 조회는 이 한 행만 읽고 CART_LINES 는 건드리지 않음
+ */
+@Entity
+@Table(name = "CARTS",
+        uniqueConstraints = @UniqueConstraint(name = "uk_cart_user_status", columnNames = {"user_id", "status"}))
+@Getter @Setter @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class Cart {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private CartLine.Status status;
+
+    @Column(nullable = false)
+    private Integer totalQuantity;
+
+    @Column(nullable = false)
+    private Long totalAmount; // 원화 정수(가격 * 수량 합)
+
+    /** 변경될 때마다 +1 (목록 ETag). JPA 낙관적 잠금(@Version) 아님 */
+    @Column(nullable = false)
+    private Long version;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
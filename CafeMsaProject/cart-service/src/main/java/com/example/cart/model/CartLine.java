@@ -3,17 +3,27 @@ package com.example.cart.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "CART_LINES",
-        uniqueConstraints = @UniqueConstraint(name="uk_user_product_open", columnNames = {"user_id","product_id","status"}))
+        uniqueConstraints = @UniqueConstraint(name="uk_user_product_open", columnNames = {"user_id","product_id","status"}),
+        indexes = {
+                @Index(name="idx_cart_lines_status_updated", columnList = "status, updated_at"), // 만료 라인 정리용
+                @Index(name="idx_cart_lines_product", columnList = "product_id")                 // 가격 변경 재가격용
+        })
 @Getter @Setter @Builder
 @NoArgsConstructor @AllArgsConstructor
 public class CartLine {
 
     public enum Status { OPEN }
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // IDENTITY 는 Hibernate insert 배치를 막으므로 시퀀스(미리 50개 할당) 사용
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_line_seq")
+    @SequenceGenerator(name = "cart_line_seq", sequenceName = "CART_LINES_SEQ", allocationSize = 50)
     private Long id;
 
     @Column(name="user_id", nullable=false)
@@ -34,4 +44,9 @@ public class CartLine {
 
     @Column(nullable=false)
     private Integer quantity;
+
+    /** 마지막 변경 시각 (벌크 UPDATE/upsert 는 쿼리에서 직접 갱신) */
+    @UpdateTimestamp
+    @Column(name="updated_at", nullable=false)
+    private LocalDateTime updatedAt;
 }
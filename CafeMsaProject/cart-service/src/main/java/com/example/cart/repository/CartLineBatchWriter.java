@@ -0,0 +1,94 @@
+package com.example.cart.repository;
+
+import com.example.cart.model.CartLine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 엔티티 로딩 없는 JDBC 배치 쓰기.
+ * - 메모리 모드(write-behind): 사용자 단위로 OPEN 라인을 통째로 교체 (DELETE 1번 + 배치 INSERT)
+ * - 여러 상품 담기: CartLineRepository 의 증가/upsert 와 같은 문장을 상품별로 배치 실행
+ */
+@Repository
+@RequiredArgsConstructor
+public class CartLineBatchWriter {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate namedJdbc;
+
+    @Transactional
+    public void replaceOpenLines(Collection<Long> userIds, List<CartLine> lines) {
+        if (userIds.isEmpty()) return;
+
+        namedJdbc.update("DELETE FROM CART_LINES WHERE status = 'OPEN' AND user_id IN (:userIds)",
+                Map.of("userIds", userIds));
+
+        jdbc.batchUpdate("INSERT INTO CART_LINES (id, user_id, status, product_id, product_name, price, quantity, updated_at) " +
+                        "VALUES (?, ?, 'OPEN', ?, ?, ?, ?, ?)",
+                lines, BATCH_SIZE, (ps, l) -> {
+                    ps.setLong(1, l.getId());
+                    ps.setLong(2, l.getUserId());
+                    ps.setLong(3, l.getProductId());
+                    ps.setString(4, l.getProductName());
+                    ps.setLong(5, l.getPrice());
+                    ps.setInt(6, l.getQuantity());
+                    ps.setTimestamp(7, Timestamp.valueOf(l.getUpdatedAt()));
+                });
+    }
+
+    /**
+     * 이미 담긴 상품의 수량을 원자적으로 증가 (CartLineRepository.incrementQuantity 와 같은 문장, 1번의 배치).
+     * 반환: addQty 순서대로 갱신 행 수 — 0 이면 라인 없음
+     */
+    public int[] incrementOpenQuantities(Long userId, Map<Long, Integer> addQty) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(addQty.entrySet());
+        return jdbc.batchUpdate("UPDATE CART_LINES SET quantity = quantity + ?, updated_at = CURRENT_TIMESTAMP " +
+                        "WHERE user_id = ? AND status = 'OPEN' AND product_id = ?",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setInt(1, entries.get(i).getValue());
+                        ps.setLong(2, userId);
+                        ps.setLong(3, entries.get(i).getKey());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return entries.size();
+                    }
+                });
+    }
+
+    /**
+     * 새 라인 upsert 배치 (CartLineRepository.upsertAddQuantity 와 같은 문장).
+     * 그 사이 동시 요청이 같은 라인을 넣었으면 uk_user_product_open 충돌 → quantity 증가로 합쳐짐.
+     * lines 의 quantity 는 더할 수량
+     */
+    public void upsertAddQuantities(List<CartLine> lines) {
+        jdbc.batchUpdate("INSERT INTO CART_LINES (id, user_id, status, product_id, product_name, price, quantity, updated_at) " +
+                        "VALUES (NEXT VALUE FOR CART_LINES_SEQ, ?, 'OPEN', ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+                        "ON DUPLICATE KEY UPDATE quantity = quantity + ?, updated_at = CURRENT_TIMESTAMP",
+                lines, BATCH_SIZE, (ps, l) -> {
+                    ps.setLong(1, l.getUserId());
+                    ps.setLong(2, l.getProductId());
+                    ps.setString(3, l.getProductName());
+                    ps.setLong(4, l.getPrice());
+                    ps.setInt(5, l.getQuantity());
+                    ps.setInt(6, l.getQuantity());
+                });
+    }
+}
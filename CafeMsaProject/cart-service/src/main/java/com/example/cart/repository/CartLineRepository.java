@@ -2,17 +2,67 @@ package com.example.cart.repository;
 
 
 import com.example.cart.model.CartLine;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface CartLineRepository extends JpaRepository<CartLine, Long> {
     List<CartLine> findByUserIdAndStatus(Long userId, CartLine.Status status);
+    List<CartLine> findByStatus(CartLine.Status status);
     Optional<CartLine> findByUserIdAndStatusAndProductId(Long userId, CartLine.Status status, Long productId);
+    List<CartLine> findByUserIdAndStatusAndProductIdIn(Long userId, CartLine.Status status, Collection<Long> productIds);
+
+    /** 수정/삭제 전 기존 수량을 정확히 읽기 위한 행 잠금 조회 (합계 증감분 계산용) */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from CartLine l where l.id=:id")
+    Optional<CartLine> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from CartLine l where l.userId=:userId and l.status=:status")
+    List<CartLine> findByUserIdAndStatusForUpdate(@Param("userId") Long userId, @Param("status") CartLine.Status status);
+
+    /** 이미 담긴 상품이면 수량만 원자적으로 증가. 반환값 0 = 해당 라인 없음 */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update CartLine l set l.quantity = l.quantity + :qty, l.updatedAt = current_timestamp " +
+            "where l.userId=:userId and l.status=:status and l.productId=:productId")
+    int incrementQuantity(@Param("userId") Long userId, @Param("status") CartLine.Status status,
+                          @Param("productId") Long productId, @Param("qty") int qty);
+
+    /**
+     * 한 문장 upsert: 없으면 INSERT, 동시 요청이 먼저 넣었으면 uk_user_product_open 충돌 → quantity 증가.
+     * (표준 MERGE 는 동시 INSERT 경합에서 unique 위반이 나므로 ON DUPLICATE KEY 사용 / H2 MODE=MySQL)
+     * id 는 엔티티와 같은 시퀀스 사용
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO CART_LINES (id, user_id, status, product_id, product_name, price, quantity, updated_at) " +
+            "VALUES (NEXT VALUE FOR CART_LINES_SEQ, :userId, 'OPEN', :productId, :productName, :price, :qty, CURRENT_TIMESTAMP) " +
+            "ON DUPLICATE KEY UPDATE quantity = quantity + :qty, updated_at = CURRENT_TIMESTAMP",
+            nativeQuery = true)
+    int upsertAddQuantity(@Param("userId") Long userId, @Param("productId") Long productId,
+                          @Param("productName") String productName, @Param("price") Long price,
+                          @Param("qty") int qty);
+
+    /** 만료 라인 한 묶음 (idx_cart_lines_status_updated 사용, 잠금 → 그 사이 담기와 경합 방지) */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from CartLine l where l.status=:status and l.updatedAt < :cutoff")
+    List<CartLine> findExpiredForUpdate(@Param("status") CartLine.Status status,
+                                        @Param("cutoff") LocalDateTime cutoff, Pageable page);
+
+    /** 상품 하나의 열린 라인 가격을 한 문장으로 갱신 (idx_cart_lines_product 사용) */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update CartLine l set l.price = :price, l.updatedAt = current_timestamp " +
+            "where l.productId=:productId and l.status=:status and l.price <> :price")
+    int repriceOpenLines(@Param("productId") Long productId, @Param("status") CartLine.Status status,
+                         @Param("price") Long price);
 
     @Modifying
     @Query("delete from CartLine l where l.userId=:userId and l.status=:status")
@@ -0,0 +1,42 @@
+package com.example.cart.repository;
+
+import com.example.cart.model.Cart;
+import com.example.cart.model.CartLine;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface CartRepository extends JpaRepository<Cart, Long> {
+    Optional<Cart> findByUserIdAndStatus(Long userId, CartLine.Status status);
+
+    @Query("select c.version from Cart c where c.userId=:userId and c.status=:status")
+    Optional<Long> findVersion(@Param("userId") Long userId, @Param("status") CartLine.Status status);
+
+    /**
+     * 합계 증감 + 버전 증가 한 문장: 헤더가 없으면 만들고, 있으면 더함 (uk_cart_user_status 충돌 → UPDATE)
+     * 동시 요청끼리도 덧셈이라 순서와 무관하게 정확함 (H2 MODE=MySQL)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO CARTS (user_id, status, total_quantity, total_amount, version) " +
+            "VALUES (:userId, 'OPEN', :qty, :amount, 1) " +
+            "ON DUPLICATE KEY UPDATE total_quantity = total_quantity + :qty, " +
+            "total_amount = total_amount + :amount, version = version + 1, updated_at = CURRENT_TIMESTAMP",
+            nativeQuery = true)
+    int addTotals(@Param("userId") Long userId, @Param("qty") int qty, @Param("amount") long amount);
+
+    /**
+     * 해당 상품을 담은 사용자들의 총 금액을 라인 기준으로 다시 계산 (재가격 직후, 같은 트랜잭션).
+     * 증감분 대신 재계산: 라인을 먼저 잠그고 헤더를 나중에 잠그는 다른 변경들과 잠금 순서를 맞추기 위함
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE CARTS c SET total_amount = " +
+            "(SELECT COALESCE(SUM(l.quantity * l.price), 0) FROM CART_LINES l WHERE l.user_id = c.user_id AND l.status = 'OPEN'), " +
+            "version = version + 1, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE c.status = 'OPEN' AND c.user_id IN " +
+            "(SELECT l2.user_id FROM CART_LINES l2 WHERE l2.product_id = :productId AND l2.status = 'OPEN')",
+            nativeQuery = true)
+    int recalcAmountsForProduct(@Param("productId") Long productId);
+}
@@ -0,0 +1,67 @@
+package com.example.cart.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 방치된 장바구니 라인 정리
+ * - 마지막 변경 후 ttl 이 지난 OPEN 라인을 batchSize 개씩 끊어서 삭제 (묶음마다 트랜잭션 분리 → 잠금/언두 크기 제한)
+ * - 실행마다 삭제 건수/소요 시간을 로그 + 지표(cart.sweeper.removed, cart.sweeper.duration)로 남김
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cart.sweeper.enabled", havingValue = "true", matchIfMissing = true)
+public class AbandonedCartSweeper {
+
+    private final CartUseCase cart;
+    private final Duration ttl;
+    private final int batchSize;
+    private final Counter removedCounter;
+    private final Timer runTimer;
+
+    public AbandonedCartSweeper(CartUseCase cart,
+                                MeterRegistry registry,
+                                @Value("${cart.sweeper.ttl:30d}") Duration ttl,
+                                @Value("${cart.sweeper.batch-size:500}") int batchSize) {
+        this.cart = cart;
+        this.ttl = ttl;
+        this.batchSize = batchSize;
+        this.removedCounter = Counter.builder("cart.sweeper.removed")
+                .description("만료로 삭제된 장바구니 라인 수")
+                .register(registry);
+        this.runTimer = Timer.builder("cart.sweeper.duration")
+                .description("만료 라인 정리 1회 소요 시간")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${cart.sweeper.interval-ms:600000}",
+               initialDelayString = "${cart.sweeper.interval-ms:600000}")
+    public void sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        long started = System.nanoTime();
+
+        int total = 0;
+        int batches = 0;
+        int removed;
+        do {
+            removed = cart.sweepExpired(cutoff, batchSize);
+            total += removed;
+            batches++;
+        } while (removed == batchSize);
+
+        long elapsed = System.nanoTime() - started;
+        removedCounter.increment(total);
+        runTimer.record(Duration.ofNanos(elapsed));
+        log.info("만료 장바구니 정리: {}건 삭제 ({}묶음, {}ms, 기준 {})",
+                total, batches, elapsed / 1_000_000, cutoff);
+    }
+}
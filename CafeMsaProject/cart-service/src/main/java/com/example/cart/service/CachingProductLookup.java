@@ -0,0 +1,157 @@
+package com.example.cart.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * ProductLookup 데코레이터: 상품 스냅샷 로컬 캐시 (read-through)
+ * - 최대 크기 + TTL 기반 축출
+ * - 같은 id 동시 미스는 한 번만 조회 (비동기 로딩 공유)
+ * - 없는/구매불가 상품은 짧은 TTL로 음수 캐시 (같은 잘못된 id로 상품 서비스를 반복 호출하지 않도록)
+ * - 적중/미스/축출 지표: cache.gets, cache.evictions (name=productSnapshots)
+ * - 상품 변경 시 invalidate()/ProductChangedEvent 로 무효화
+ */
+public class CachingProductLookup implements ProductLookup {
+
+    public static final String CACHE_NAME = "productSnapshots";
+
+    /** snapshot == null 이면 음수 캐시 항목 */
+    private record Entry(ProductSnapshot snapshot) {
+        static final Entry MISSING = new Entry(null);
+        boolean missing() { return snapshot == null; }
+    }
+
+    private final ProductLookup delegate;
+    private final AsyncCache<Long, Entry> cache;
+    private final Counter invalidations;
+
+    public CachingProductLookup(ProductLookup delegate, MeterRegistry meterRegistry,
+                                long maxSize, Duration ttl, Duration negativeTtl) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<Long, Entry>() {
+                    @Override
+                    public long expireAfterCreate(Long id, Entry e, long now) {
+                        return (e.missing() ? negativeTtl : ttl).toNanos();
+                    }
+                    @Override
+                    public long expireAfterUpdate(Long id, Entry e, long now, long remaining) {
+                        return expireAfterCreate(id, e, now);
+                    }
+                    @Override
+                    public long expireAfterRead(Long id, Entry e, long now, long remaining) {
+                        return remaining; // 읽기로는 수명 연장 안 함
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.invalidations = Counter.builder("product.snapshot.invalidations")
+                .description("상품 변경으로 무효화된 스냅샷 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ProductSnapshot getSnapshot(Long productId) {
+        try {
+            return getSnapshotAsync(productId).join();
+        } catch (CompletionException e) {
+            throw (e.getCause() instanceof RuntimeException re) ? re : e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<ProductSnapshot> getSnapshotAsync(Long productId) {
+        return cache.get(productId, (id, executor) -> load(id))
+                .thenApply(e -> {
+                    if (e.missing()) {
+                        throw new NoSuchElementException("구매 불가/없음: " + productId);
+                    }
+                    return e.snapshot();
+                });
+    }
+
+    private CompletableFuture<Entry> load(Long productId) {
+        return delegate.getSnapshotAsync(productId)
+                .thenApply(Entry::new)
+                .exceptionally(ex -> {
+                    Throwable cause = (ex instanceof CompletionException && ex.getCause() != null) ? ex.getCause() : ex;
+                    if (cause instanceof NoSuchElementException) {
+                        return Entry.MISSING;
+                    }
+                    // 그 외 예외(타임아웃, 서킷 open 등)는 캐시하지 않고 그대로 전파
+                    throw (cause instanceof RuntimeException re) ? re : new CompletionException(cause);
+                });
+    }
+
+    @Override
+    public Map<Long, ProductSnapshot> getSnapshots(Collection<Long> productIds) {
+        try {
+            return getSnapshotsAsync(productIds).join();
+        } catch (CompletionException e) {
+            throw (e.getCause() instanceof RuntimeException re) ? re : e;
+        }
+    }
+
+    /** 캐시에 없는 id 들만 모아서 delegate 에 한 번에 요청 */
+    @Override
+    public CompletableFuture<Map<Long, ProductSnapshot>> getSnapshotsAsync(Collection<Long> productIds) {
+        return cache.getAll(productIds, (missing, executor) -> loadAll(missing))
+                .thenApply(entries -> {
+                    Map<Long, ProductSnapshot> result = new LinkedHashMap<>();
+                    entries.forEach((id, e) -> {
+                        if (!e.missing()) result.put(id, e.snapshot());
+                    });
+                    return result;
+                });
+    }
+
+    private CompletableFuture<Map<Long, Entry>> loadAll(Set<? extends Long> productIds) {
+        return delegate.getSnapshotsAsync(Set.copyOf(productIds))
+                .thenApply(found -> {
+                    Map<Long, Entry> entries = new LinkedHashMap<>();
+                    for (Long id : productIds) {
+                        ProductSnapshot s = found.get(id);
+                        entries.put(id, s == null ? Entry.MISSING : new Entry(s));
+                    }
+                    return entries;
+                });
+    }
+
+    /** 단건 무효화 (상품 변경 이벤트용) */
+    public void invalidate(Long productId) {
+        cache.synchronous().invalidate(productId);
+        invalidations.increment();
+    }
+
+    /** 전체 무효화 (대량 변경/운영용) */
+    public void invalidateAll() {
+        invalidations.increment(cache.synchronous().estimatedSize());
+        cache.synchronous().invalidateAll();
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.productId() == null) {
+            invalidateAll();
+        } else {
+            invalidate(event.productId());
+        }
+    }
+}
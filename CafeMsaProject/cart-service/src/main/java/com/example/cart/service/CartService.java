@@ -3,24 +3,38 @@ package com.example.cart.service;
 
 import com.example.cart.dto.AddCartItemRequest;
 import com.example.cart.dto.CartItemResponse;
+import com.example.cart.dto.CartSummaryResponse;
 import com.example.cart.dto.UpdateQuantityRequest;
 
 import com.example.cart.model.CartLine;
+import com.example.cart.repository.CartLineBatchWriter;
 import com.example.cart.repository.CartLineRepository;
+import com.example.cart.repository.CartRepository;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@ConditionalOnProperty(name = "cart.store", havingValue = "jpa", matchIfMissing = true)
 public class CartService implements CartUseCase{
 
     private final CartLineRepository repo;
+    private final CartRepository carts;       // 헤더(합계)
     private final ProductLookup productLookup; // 상품 스냅샷 조회 (분리된 인터페이스)
+    private final CartLineBatchWriter batchWriter; // 여러 상품 담기용 JDBC 배치
 
     @Transactional(readOnly = true)
     public List<CartItemResponse> list(Long userId) {
@@ -30,51 +44,158 @@ public class CartService implements CartUseCase{
                 .toList();
     }
 
+    /** 합계만 조회: 헤더 1행만 읽음 (라인 테이블 미사용) */
+    @Transactional(readOnly = true)
+    public CartSummaryResponse summary(Long userId) {
+        return carts.findByUserIdAndStatus(userId, CartLine.Status.OPEN)
+                .map(c -> new CartSummaryResponse(c.getTotalQuantity(), c.getTotalAmount()))
+                .orElseGet(CartSummaryResponse::empty);
+    }
+
+    /** 버전만 조회: 헤더 1행 (목록 ETag 비교용) */
+    @Transactional(readOnly = true)
+    public long version(Long userId) {
+        return carts.findVersion(userId, CartLine.Status.OPEN).orElse(0L);
+    }
+
     public CartItemResponse add(Long userId, AddCartItemRequest req) {
         // quantity null/음수 보정: 기본 1
         int addQty = (req.getQuantity() == null || req.getQuantity() < 1) ? 1 : req.getQuantity();
+        Long productId = req.getProductId();
 
-        var line = repo.findByUserIdAndStatusAndProductId(userId, CartLine.Status.OPEN, req.getProductId())
-                .orElseGet(() -> {
-                    var p = productLookup.getSnapshot(req.getProductId());
-                    return CartLine.builder()
-                            .userId(userId).status(CartLine.Status.OPEN)
-                            .productId(p.id()).productName(p.name()).price(p.price())
-                            .quantity(0)
-                            .build();
-                });
-
-        line.setQuantity((line.getQuantity() == null ? 0 : line.getQuantity()) + addQty);
-        repo.save(line);
+        // 1) 이미 담긴 상품: UPDATE 한 문장으로 증가 (상품 조회 불필요)
+        if (repo.incrementQuantity(userId, CartLine.Status.OPEN, productId, addQty) == 0) {
+            // 2) 처음 담는 상품: 스냅샷 조회 후 upsert — 동시 요청이 먼저 넣었어도 증가로 합쳐짐
+            var p = productLookup.getSnapshot(productId);
+            repo.upsertAddQuantity(userId, p.id(), p.name(), p.price(), addQty);
+        }
 
+        var line = repo.findByUserIdAndStatusAndProductId(userId, CartLine.Status.OPEN, productId)
+                .orElseThrow();
+        carts.addTotals(userId, addQty, (long) addQty * line.getPrice());
         return toResponse(line);
     }
 
-    public CartItemResponse updateQty(Long userId, Long itemId, UpdateQuantityRequest req) {
-        var line = repo.findById(itemId).orElseThrow();
+    /**
+     * 여러 상품 한 번에 담기 — add() 와 같은 원자적 증가/upsert 를 배치로
+     * - 기존 라인: UPDATE 배치 1번, 없던 상품: 스냅샷 벌크 조회 1번 + upsert 배치 1번, 합계 반영 1번
+     * - 같은 상품이 여러 번 오면 수량 합산, 하나라도 없는 상품이면 전체 실패(롤백)
+     */
+    public List<CartItemResponse> addAll(Long userId, List<AddCartItemRequest> reqs) {
+        Map<Long, Integer> addQty = new LinkedHashMap<>(); // 요청 순서 유지
+        for (AddCartItemRequest r : reqs) {
+            int q = (r.getQuantity() == null || r.getQuantity() < 1) ? 1 : r.getQuantity();
+            addQty.merge(r.getProductId(), q, Integer::sum);
+        }
+
+        int[] updated = batchWriter.incrementOpenQuantities(userId, addQty);
+        List<Long> missing = new ArrayList<>();
+        int i = 0;
+        for (Long id : addQty.keySet()) {
+            if (updated[i++] == 0) missing.add(id);
+        }
+
+        if (!missing.isEmpty()) {
+            var snapshots = productLookup.getSnapshots(missing);
+            List<CartLine> inserts = new ArrayList<>(missing.size());
+            for (Long id : missing) {
+                var p = snapshots.get(id);
+                if (p == null) throw new NoSuchElementException("구매 불가/없음: " + id);
+                CartLine l = newLine(userId, p);
+                l.setQuantity(addQty.get(id));
+                inserts.add(l);
+            }
+            batchWriter.upsertAddQuantities(inserts);
+        }
+
+        Map<Long, CartLine> lines = new HashMap<>();
+        repo.findByUserIdAndStatusAndProductIdIn(userId, CartLine.Status.OPEN, addQty.keySet())
+                .forEach(l -> lines.put(l.getProductId(), l));
+
+        int totalQty = 0;
+        long totalAmount = 0;
+        for (var e : addQty.entrySet()) {
+            totalQty += e.getValue();
+            totalAmount += (long) e.getValue() * lines.get(e.getKey()).getPrice();
+        }
+        carts.addTotals(userId, totalQty, totalAmount);
+
+        return addQty.keySet().stream().map(lines::get).map(this::toResponse).toList();
+    }
 
-        // 내 항목인지 확인
+    /*
+     * 수정/삭제는 라인을 잠그고 읽어 기존 수량을 확정한 뒤 증감분만 헤더에 반영.
+     * (담기는 증가분이 요청에 이미 있으므로 잠금 없이 원자적 UPDATE/upsert 유지)
+     */
+    public CartItemResponse updateQty(Long userId, Long itemId, UpdateQuantityRequest req) {
+        int q = (req.getQuantity() == null ? 0 : Math.max(0, req.getQuantity()));
+        var line = repo.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new NoSuchElementException("장바구니 항목 없음: " + itemId));
         if (!line.getUserId().equals(userId))
             throw new IllegalArgumentException("권한 없음");
 
-        int q = (req.getQuantity() == null ? 0 : Math.max(0, req.getQuantity()));
+        int delta = q - line.getQuantity();
         if (q == 0) {
             repo.delete(line);                       // 0이면 삭제 정책
-            return CartItemResponse.removed(itemId); // 또는 컨트롤러에서 204로 처리 가능
+        } else {
+            line.setQuantity(q);
         }
-
-        line.setQuantity(q);
-        return toResponse(line);
+        carts.addTotals(userId, delta, (long) delta * line.getPrice());
+        return q == 0 ? CartItemResponse.removed(itemId) : toResponse(line);
     }
 
     public void remove(Long userId, Long itemId) {
-        repo.findById(itemId)
+        repo.findByIdForUpdate(itemId)
                 .filter(l -> l.getUserId().equals(userId))
-                .ifPresent(repo::delete);
+                .ifPresent(l -> {
+                    repo.delete(l);
+                    carts.addTotals(userId, -l.getQuantity(), -(long) l.getQuantity() * l.getPrice());
+                });
     }
 
     public void clear(Long userId) {
-        repo.deleteAllByUserAndStatus(userId, CartLine.Status.OPEN);
+        var lines = repo.findByUserIdAndStatusForUpdate(userId, CartLine.Status.OPEN);
+        if (lines.isEmpty()) return;
+        int qty = 0;
+        long amount = 0;
+        for (CartLine l : lines) {
+            qty += l.getQuantity();
+            amount += (long) l.getQuantity() * l.getPrice();
+        }
+        repo.deleteAllInBatch(lines); // 잠근 라인만 삭제 → 그 사이 새로 담긴 라인은 합계와 함께 남음
+        carts.addTotals(userId, -qty, -amount);
+    }
+
+    /** 만료 라인 한 묶음 삭제 — 호출마다 별도 트랜잭션 (잠금 범위를 batchSize 로 제한) */
+    public int sweepExpired(LocalDateTime cutoff, int batchSize) {
+        var lines = repo.findExpiredForUpdate(CartLine.Status.OPEN, cutoff, PageRequest.of(0, batchSize));
+        if (lines.isEmpty()) return 0;
+
+        // 사용자별 합계 증감 모아서 헤더에 1번씩 반영
+        Map<Long, long[]> deltas = new HashMap<>();
+        for (CartLine l : lines) {
+            long[] d = deltas.computeIfAbsent(l.getUserId(), k -> new long[2]);
+            d[0] += l.getQuantity();
+            d[1] += (long) l.getQuantity() * l.getPrice();
+        }
+        repo.deleteAllInBatch(lines);
+        deltas.forEach((userId, d) -> carts.addTotals(userId, (int) -d[0], -d[1]));
+        return lines.size();
+    }
+
+    /** 재가격: 라인 UPDATE 1번 + 영향 받은 사용자 헤더 금액 재계산 1번 */
+    public int repriceProduct(Long productId, Long price) {
+        int updated = repo.repriceOpenLines(productId, CartLine.Status.OPEN, price);
+        if (updated > 0) carts.recalcAmountsForProduct(productId);
+        return updated;
+    }
+
+    private CartLine newLine(Long userId, ProductLookup.ProductSnapshot p) {
+        return CartLine.builder()
+                .userId(userId).status(CartLine.Status.OPEN)
+                .productId(p.id()).productName(p.name()).price(p.price())
+                .quantity(0)
+                .build();
     }
 
     private CartItemResponse toResponse(CartLine l) {
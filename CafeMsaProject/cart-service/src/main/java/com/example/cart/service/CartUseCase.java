@@ -2,14 +2,24 @@ package com.example.cart.service;
 
 import com.example.cart.dto.AddCartItemRequest;
 import com.example.cart.dto.CartItemResponse;
+import com.example.cart.dto.CartSummaryResponse;
 import com.example.cart.dto.UpdateQuantityRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CartUseCase {
     List<CartItemResponse> list(Long userId);
+    CartSummaryResponse summary(Long userId);
+    /** 변경될 때마다 증가하는 사용자별 장바구니 버전 (없으면 0) */
+    long version(Long userId);
     CartItemResponse add(Long userId, AddCartItemRequest req);
+    List<CartItemResponse> addAll(Long userId, List<AddCartItemRequest> reqs);
     CartItemResponse updateQty(Long userId, Long itemId, UpdateQuantityRequest req);
     void remove(Long userId, Long itemId);
     void clear(Long userId);
+    /** cutoff 이전에 마지막으로 바뀐 라인을 최대 batchSize 개 삭제(합계 반영). 반환값 = 삭제 건수 */
+    int sweepExpired(LocalDateTime cutoff, int batchSize);
+    /** 상품 가격 변경 → 해당 상품의 열린 라인 가격 갱신(합계 반영). 반환값 = 갱신 건수 */
+    int repriceProduct(Long productId, Long price);
 }
\ No newline at end of file
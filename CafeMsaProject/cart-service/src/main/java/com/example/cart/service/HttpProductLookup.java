@@ -1,34 +1,153 @@
 package com.example.cart.service;
 
-import lombok.RequiredArgsConstructor;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
-import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Component
-@RequiredArgsConstructor
 @ConditionalOnProperty(name = "catalog.stub", havingValue = "false", matchIfMissing = true)
 public class HttpProductLookup implements ProductLookup {
 
+    // product-service 의 ?ids= 상한 (ProductController.MAX_BULK_IDS). 넘으면 400 → 서킷브레이커 실패로 집계됨
+    static final int MAX_IDS_PER_REQUEST = 100;
+
     private final WebClient productWebClient;
+    private final CircuitBreaker productCircuitBreaker;
+    private final Duration deadline;
+    private final int batchMaxSize;
+
+    // 단건 요청을 짧은 구간(window) 동안 모아 한 번의 ?ids= 호출로 보내는 마이크로 배치
+    private record PendingLookup(Long productId, CompletableFuture<ProductSnapshot> result) {}
+    private final Duration batchWindow;
+    private final Object windowLock = new Object();
+    private List<PendingLookup> window = new ArrayList<>();
+
+    public HttpProductLookup(WebClient productWebClient,
+                             CircuitBreaker productCircuitBreaker,
+                             @Value("${catalog.client.deadline:800ms}") Duration deadline,
+                             @Value("${catalog.client.batch.window:5ms}") Duration batchWindow,
+                             @Value("${catalog.client.batch.max-size:50}") int batchMaxSize) {
+        this.productWebClient = productWebClient;
+        this.productCircuitBreaker = productCircuitBreaker;
+        this.deadline = deadline;
+        this.batchMaxSize = Math.max(1, Math.min(batchMaxSize, MAX_IDS_PER_REQUEST));
+        this.batchWindow = batchWindow;
+    }
 
+    // price 는 원 단위 정수 (product-service 가 소수 가격을 받지 않음)
     private record ProductDto(Long id, String name, Long price, Boolean available) {}
 
+    /** 동기 호출: 서블릿 스레드는 최대 deadline(+배치 대기) 까지만 대기 */
     @Override
     public ProductSnapshot getSnapshot(Long productId) {
-        ProductDto p = productWebClient.get()
-                .uri("/api/products/{id}", productId) // 상품 서비스 엔드포인트에 맞추세요
-                .retrieve()
-                .bodyToMono(ProductDto.class)
-                .block();
+        return Mono.fromFuture(getSnapshotAsync(productId)).block();
+    }
+
+    /** 비동기 호출: 같은 구간에 들어온 다른 단건 요청들과 묶여서 한 번에 조회됨 */
+    @Override
+    public CompletableFuture<ProductSnapshot> getSnapshotAsync(Long productId) {
+        CompletableFuture<ProductSnapshot> result = new CompletableFuture<>();
+        List<PendingLookup> full = null;
+        boolean opened;
+        synchronized (windowLock) {
+            window.add(new PendingLookup(productId, result));
+            opened = window.size() == 1;
+            if (window.size() >= batchMaxSize) {
+                full = takeWindow();
+            }
+        }
+        if (full != null) {
+            dispatch(full).subscribe();        // 꽉 찼으면 바로 전송
+        } else if (opened) {
+            Schedulers.parallel().schedule(this::flushWindow, batchWindow.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        return result;
+    }
 
-        if (p == null || Boolean.FALSE.equals(p.available())) {
-            throw new NoSuchElementException("구매 불가/없음: " + productId);
+    private void flushWindow() {
+        List<PendingLookup> batch;
+        synchronized (windowLock) {
+            batch = takeWindow();
         }
-        return new ProductSnapshot(p.id(), p.name(), p.price());
+        if (!batch.isEmpty()) {
+            dispatch(batch).subscribe();
+        }
+    }
+
+    private List<PendingLookup> takeWindow() {
+        List<PendingLookup> batch = window;
+        window = new ArrayList<>();
+        return batch;
+    }
+
+    @Override
+    public Map<Long, ProductSnapshot> getSnapshots(Collection<Long> productIds) {
+        return fetchAll(productIds).block();
+    }
+
+    @Override
+    public CompletableFuture<Map<Long, ProductSnapshot>> getSnapshotsAsync(Collection<Long> productIds) {
+        return fetchAll(productIds).toFuture();
+    }
+
+    /** 모인 단건 요청들을 한 번에 조회하고 각자의 future 를 완료시킴 */
+    private Mono<Void> dispatch(List<PendingLookup> batch) {
+        List<Long> ids = batch.stream().map(PendingLookup::productId).distinct().toList();
+        return fetchMany(ids)
+                .doOnNext(found -> batch.forEach(p -> {
+                    ProductSnapshot s = found.get(p.productId());
+                    if (s != null) {
+                        p.result().complete(s);
+                    } else {
+                        p.result().completeExceptionally(
+                                new NoSuchElementException("구매 불가/없음: " + p.productId()));
+                    }
+                }))
+                .doOnError(e -> batch.forEach(p -> p.result().completeExceptionally(e)))
+                .onErrorResume(e -> Mono.empty()) // 에러는 각 future 로 이미 전달됨
+                .then();
+    }
+
+    /** 서버 상한(MAX_IDS_PER_REQUEST)을 넘지 않도록 batchMaxSize 단위로 나눠 조회 */
+    private Mono<Map<Long, ProductSnapshot>> fetchAll(Collection<Long> productIds) {
+        return Flux.fromIterable(productIds)
+                .distinct()
+                .buffer(batchMaxSize)
+                .flatMap(this::fetchMany)
+                .collect(LinkedHashMap::new, Map::putAll);
+    }
+
+    private Mono<Map<Long, ProductSnapshot>> fetchMany(List<Long> ids) {
+        String idParam = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return productWebClient.get()
+                .uri(uri -> uri.path("/api/products").queryParam("ids", idParam).build())
+                .retrieve()
+                .bodyToFlux(ProductDto.class)
+                .collectList()
+                .timeout(deadline) // 풀 대기 + 응답까지 포함한 호출 전체 데드라인
+                .transformDeferred(CircuitBreakerOperator.of(productCircuitBreaker))
+                .onErrorMap(e -> new ProductLookupUnavailableException(ids, e))
+                .map(list -> list.stream()
+                        .filter(p -> !Boolean.FALSE.equals(p.available()))
+                        .collect(Collectors.toMap(ProductDto::id,
+                                p -> new ProductSnapshot(p.id(), p.name(), p.price()),
+                                (a, b) -> a, LinkedHashMap::new)));
     }
-}
\ No newline at end of file
+}
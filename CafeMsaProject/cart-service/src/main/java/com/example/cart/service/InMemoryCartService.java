@@ -0,0 +1,397 @@
+package com.example.cart.service;
+
+import com.example.cart.dto.AddCartItemRequest;
+import com.example.cart.dto.CartItemResponse;
+import com.example.cart.dto.CartSummaryResponse;
+import com.example.cart.dto.UpdateQuantityRequest;
+import com.example.cart.model.CartLine;
+import com.example.cart.repository.CartLineBatchWriter;
+import com.example.cart.repository.CartLineRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 메모리 모드 장바구니 (cart.store=memory)
+ * - 열린 장바구니를 사용자별로 메모리에 두고, 사용자 단위 락으로만 직렬화 (사용자끼리는 병렬)
+ * - 변경된 사용자만 dirty 표시 → 주기적으로 모아서 CART_LINES 에 일괄 반영 (write-behind, 여러 번 바뀌어도 1번 저장)
+ * - 기동 시 CART_LINES 의 OPEN 라인으로 복구
+ * - 비어 있고 저장까지 끝난 장바구니는 flush 직후 맵에서 제거 (조회만 하는 사용자는 항목을 만들지 않음)
+ *   → 메모리에는 열린 라인이 있는 사용자만 남고, 그 라인은 sweepExpired 로 만료됨
+ * - flush 는 한 번에 하나 (주기 실행과 종료 시 flush 가 겹쳐 옛 복사본이 나중에 쓰이지 않게)
+ * 주의: 단일 인스턴스 전제. 마지막 flush 이후 변경은 비정상 종료 시 유실될 수 있음
+ *   기동 시 복구는 CART_LINES 가 재시작 뒤에도 남아 있어야 의미가 있음 (기본 jdbc:h2:mem 이면 재시작마다 비어 있음)
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "cart.store", havingValue = "memory")
+public class InMemoryCartService implements CartUseCase {
+
+    private final ProductLookup productLookup;
+    private final CartLineBatchWriter writer;
+    private final int flushBatchUsers;
+
+    private final ConcurrentHashMap<Long, UserCart> carts = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyUsers = ConcurrentHashMap.newKeySet();
+    // 메모리 모드에서는 이 서비스만 CART_LINES 에 쓰므로 기존 최대 id 이후로 발급
+    private final AtomicLong lineIds = new AtomicLong();
+    // 장바구니 버전 (ETag). 제거 후 다시 만들어도 이전 값과 겹치지 않도록 전역 증가
+    private final AtomicLong versions = new AtomicLong();
+    // flush 직렬화 (@Scheduled 스레드 / @PreDestroy 종료 스레드)
+    private final Object flushLock = new Object();
+
+    /** 한 사용자의 열린 장바구니 (상품 id → 라인 + 합계). 모든 접근은 synchronized(this) */
+    private static final class UserCart {
+        final Map<Long, CartLine> byProduct = new LinkedHashMap<>();
+        int totalQuantity;
+        long totalAmount;
+        long version;
+        boolean evicted; // 맵에서 빠진 객체 → 이미 참조를 잡은 요청은 다시 가져와야 함
+
+        /** 라인 수량이 delta 만큼 바뀔 때 합계도 같이 증감 */
+        void changeQuantity(CartLine line, int delta) {
+            line.setQuantity(line.getQuantity() + delta);
+            line.setUpdatedAt(LocalDateTime.now());
+            addTotals(line, delta);
+        }
+
+        void addTotals(CartLine line, int qty) {
+            totalQuantity += qty;
+            totalAmount += (long) qty * line.getPrice();
+        }
+    }
+
+    public InMemoryCartService(ProductLookup productLookup,
+                               CartLineRepository repo,
+                               CartLineBatchWriter writer,
+                               @Value("${cart.memory.flush-batch-users:500}") int flushBatchUsers) {
+        this.productLookup = productLookup;
+        this.writer = writer;
+        this.flushBatchUsers = flushBatchUsers;
+
+        long maxId = 0;
+        for (CartLine l : repo.findByStatus(CartLine.Status.OPEN)) {
+            UserCart cart = cart(l.getUserId());
+            cart.byProduct.put(l.getProductId(), l);
+            cart.addTotals(l, l.getQuantity());
+            maxId = Math.max(maxId, l.getId());
+        }
+        lineIds.set(maxId);
+    }
+
+    @Override
+    public List<CartItemResponse> list(Long userId) {
+        UserCart cart = carts.get(userId);
+        if (cart == null) return List.of();
+        synchronized (cart) {
+            return cart.byProduct.values().stream().map(this::toResponse).toList();
+        }
+    }
+
+    @Override
+    public CartSummaryResponse summary(Long userId) {
+        UserCart cart = carts.get(userId);
+        if (cart == null) return CartSummaryResponse.empty();
+        synchronized (cart) {
+            return new CartSummaryResponse(cart.totalQuantity, cart.totalAmount);
+        }
+    }
+
+    @Override
+    public long version(Long userId) {
+        UserCart cart = carts.get(userId);
+        if (cart == null) return 0L;
+        synchronized (cart) {
+            return cart.version;
+        }
+    }
+
+    @Override
+    public CartItemResponse add(Long userId, AddCartItemRequest req) {
+        int addQty = (req.getQuantity() == null || req.getQuantity() < 1) ? 1 : req.getQuantity();
+        Long productId = req.getProductId();
+        UserCart current = carts.get(userId);
+        if (current != null) {
+            synchronized (current) {
+                CartLine line = current.evicted ? null : current.byProduct.get(productId);
+                if (line != null) {
+                    current.changeQuantity(line, addQty);
+                    markChanged(userId, current);
+                    return toResponse(line);
+                }
+            }
+        }
+
+        // 상품 조회는 락 밖에서 (느린 호출이 같은 사용자의 다른 요청을 막지 않도록)
+        var p = productLookup.getSnapshot(productId);
+        while (true) {
+            UserCart cart = cart(userId);
+            synchronized (cart) {
+                if (cart.evicted) continue;
+                CartLine line = cart.byProduct.computeIfAbsent(productId, id -> newLine(userId, p));
+                cart.changeQuantity(line, addQty);
+                markChanged(userId, cart);
+                return toResponse(line);
+            }
+        }
+    }
+
+    @Override
+    public List<CartItemResponse> addAll(Long userId, List<AddCartItemRequest> reqs) {
+        Map<Long, Integer> addQty = new LinkedHashMap<>();
+        for (AddCartItemRequest r : reqs) {
+            int q = (r.getQuantity() == null || r.getQuantity() < 1) ? 1 : r.getQuantity();
+            addQty.merge(r.getProductId(), q, Integer::sum);
+        }
+        // 상품 확인 전에는 장바구니를 만들지 않음 (없는 상품이면 빈 항목이 남지 않도록)
+        Map<Long, ProductLookup.ProductSnapshot> snapshots = new HashMap<>();
+        while (true) {
+            List<Long> missing = missingProducts(carts.get(userId), addQty.keySet(), snapshots);
+            if (!missing.isEmpty()) {
+                // 상품 조회는 락 밖에서
+                var fetched = productLookup.getSnapshots(missing);
+                for (Long id : missing) {
+                    if (!fetched.containsKey(id)) throw new NoSuchElementException("구매 불가/없음: " + id);
+                }
+                snapshots.putAll(fetched);
+                continue;
+            }
+
+            UserCart cart = cart(userId);
+            synchronized (cart) {
+                // 제거된 객체이거나, 조회 사이에 라인이 빠져 스냅샷이 모자라면 다시
+                if (cart.evicted || !missingProducts(cart, addQty.keySet(), snapshots).isEmpty()) continue;
+                List<CartItemResponse> result = new ArrayList<>();
+                addQty.forEach((id, q) -> {
+                    CartLine line = cart.byProduct.computeIfAbsent(id, k -> newLine(userId, snapshots.get(k)));
+                    cart.changeQuantity(line, q);
+                    result.add(toResponse(line));
+                });
+                markChanged(userId, cart);
+                return result;
+            }
+        }
+    }
+
+    @Override
+    public CartItemResponse updateQty(Long userId, Long itemId, UpdateQuantityRequest req) {
+        int q = (req.getQuantity() == null ? 0 : Math.max(0, req.getQuantity()));
+        UserCart cart = carts.get(userId);
+        if (cart == null) throw new NoSuchElementException("장바구니 항목 없음: " + itemId);
+
+        synchronized (cart) {
+            CartLine line = findLine(cart, itemId);
+            cart.changeQuantity(line, q - line.getQuantity());
+            if (q == 0) {
+                cart.byProduct.remove(line.getProductId());
+                markChanged(userId, cart);
+                return CartItemResponse.removed(itemId);
+            }
+            markChanged(userId, cart);
+            return toResponse(line);
+        }
+    }
+
+    @Override
+    public void remove(Long userId, Long itemId) {
+        UserCart cart = carts.get(userId);
+        if (cart == null) return;
+        synchronized (cart) {
+            cart.byProduct.values().stream()
+                    .filter(l -> l.getId().equals(itemId))
+                    .findFirst()
+                    .ifPresent(l -> {
+                        cart.changeQuantity(l, -l.getQuantity());
+                        cart.byProduct.remove(l.getProductId());
+                        markChanged(userId, cart);
+                    });
+        }
+    }
+
+    @Override
+    public void clear(Long userId) {
+        UserCart cart = carts.get(userId);
+        if (cart == null) return;
+        synchronized (cart) {
+            if (cart.evicted) return; // 제거된 장바구니는 이미 비어 있음
+            cart.byProduct.clear();
+            cart.totalQuantity = 0;
+            cart.totalAmount = 0;
+            markChanged(userId, cart);
+        }
+    }
+
+    /** 메모리에서 직접 만료 (DB 만 지우면 다음 flush 때 되살아나므로). 삭제분은 flush 로 DB 반영 */
+    @Override
+    public int sweepExpired(LocalDateTime cutoff, int batchSize) {
+        int removed = 0;
+        for (var e : carts.entrySet()) {
+            if (removed >= batchSize) break;
+            UserCart cart = e.getValue();
+            synchronized (cart) {
+                Iterator<CartLine> it = cart.byProduct.values().iterator();
+                boolean changed = false;
+                while (it.hasNext() && removed < batchSize) {
+                    CartLine l = it.next();
+                    if (l.getUpdatedAt().isBefore(cutoff)) {
+                        cart.addTotals(l, -l.getQuantity());
+                        it.remove();
+                        removed++;
+                        changed = true;
+                    }
+                }
+                if (changed) markChanged(e.getKey(), cart);
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public int repriceProduct(Long productId, Long price) {
+        int updated = 0;
+        for (var e : carts.entrySet()) {
+            UserCart cart = e.getValue();
+            synchronized (cart) {
+                CartLine line = cart.byProduct.get(productId);
+                if (line == null || line.getPrice().equals(price)) continue;
+                cart.totalAmount += (long) line.getQuantity() * (price - line.getPrice());
+                line.setPrice(price);
+                line.setUpdatedAt(LocalDateTime.now());
+                markChanged(e.getKey(), cart);
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    /* ---- write-behind ---- */
+
+    /**
+     * dirty 사용자들을 최대 flushBatchUsers 명씩 묶어 저장. 실패하면 다음 주기에 재시도
+     * 저장 후 비어 있고 그 사이 바뀌지 않은 장바구니는 맵에서 제거
+     * 동시에 호출되면 앞선 flush 가 끝날 때까지 기다림
+     */
+    @Scheduled(fixedDelayString = "${cart.memory.flush-interval-ms:1000}")
+    public void flush() {
+        synchronized (flushLock) {
+            flushDirty();
+        }
+    }
+
+    private void flushDirty() {
+        while (!dirtyUsers.isEmpty()) {
+            List<Long> users = new ArrayList<>();
+            Iterator<Long> it = dirtyUsers.iterator();
+            while (it.hasNext() && users.size() < flushBatchUsers) {
+                users.add(it.next());
+                it.remove(); // 복사 전에 먼저 빼야 그 사이 변경이 다음 주기에 다시 잡힘
+            }
+
+            List<CartLine> rows = new ArrayList<>();
+            Map<Long, Long> savedVersions = new HashMap<>();
+            for (Long userId : users) {
+                UserCart cart = carts.get(userId);
+                if (cart == null) continue;
+                synchronized (cart) {
+                    cart.byProduct.values().forEach(l -> rows.add(copyOf(l)));
+                    savedVersions.put(userId, cart.version);
+                }
+            }
+
+            try {
+                writer.replaceOpenLines(users, rows);
+            } catch (RuntimeException e) {
+                dirtyUsers.addAll(users);
+                log.warn("장바구니 write-behind 실패 ({}명), 다음 주기에 재시도: {}", users.size(), e.getMessage());
+                return;
+            }
+            savedVersions.forEach(this::evictIfEmpty);
+        }
+    }
+
+    /** 저장한 버전 그대로인 빈 장바구니만 제거 (DB 도 비어 있음이 확실) */
+    private void evictIfEmpty(Long userId, long savedVersion) {
+        UserCart cart = carts.get(userId);
+        if (cart == null) return;
+        synchronized (cart) {
+            if (cart.version == savedVersion && cart.byProduct.isEmpty()) {
+                cart.evicted = true;
+                carts.remove(userId, cart);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /* ---- helpers ---- */
+
+    /** 락 안에서 호출: 버전 증가 + write-behind 대상 표시 */
+    private void markChanged(Long userId, UserCart cart) {
+        cart.version = versions.incrementAndGet();
+        dirtyUsers.add(userId);
+    }
+
+    private UserCart cart(Long userId) {
+        return carts.computeIfAbsent(userId, k -> new UserCart());
+    }
+
+    /** 장바구니에 라인도 없고 받아 둔 스냅샷도 없는 상품 (cart 가 없거나 제거됐으면 빈 장바구니로 봄) */
+    private List<Long> missingProducts(UserCart cart, Set<Long> productIds,
+                                       Map<Long, ProductLookup.ProductSnapshot> snapshots) {
+        if (cart == null) {
+            return productIds.stream().filter(id -> !snapshots.containsKey(id)).toList();
+        }
+        synchronized (cart) {
+            return productIds.stream()
+                    .filter(id -> (cart.evicted || !cart.byProduct.containsKey(id)) && !snapshots.containsKey(id))
+                    .toList();
+        }
+    }
+
+    private CartLine findLine(UserCart cart, Long itemId) {
+        return cart.byProduct.values().stream()
+                .filter(l -> l.getId().equals(itemId))
+                .findFirst()
+                .orElseThrow(() -> new NoSuchElementException("장바구니 항목 없음: " + itemId));
+    }
+
+    private CartLine newLine(Long userId, ProductLookup.ProductSnapshot p) {
+        return CartLine.builder()
+                .id(lineIds.incrementAndGet())
+                .userId(userId).status(CartLine.Status.OPEN)
+                .productId(p.id()).productName(p.name()).price(p.price())
+                .quantity(0)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private CartLine copyOf(CartLine l) {
+        return CartLine.builder()
+                .id(l.getId()).userId(l.getUserId()).status(l.getStatus())
+                .productId(l.getProductId()).productName(l.getProductName()).price(l.getPrice())
+                .quantity(l.getQuantity()).updatedAt(l.getUpdatedAt())
+                .build();
+    }
+
+    private CartItemResponse toResponse(CartLine l) {
+        return CartItemResponse.of(l.getId(), l.getProductId(), l.getProductName(), l.getPrice(), l.getQuantity());
+    }
+}
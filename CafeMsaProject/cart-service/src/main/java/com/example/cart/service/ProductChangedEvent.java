@@ -0,0 +1,7 @@
+package com.example.cart.service;
+
+/**
+ * 상품 변경(가격/판매여부/삭제) 알림.
+ * 상품 서비스 이벤트 수신부에서 publish → 스냅샷 캐시 등이 구독해서 무효화
+ */
+public record ProductChangedEvent(Long productId) {}
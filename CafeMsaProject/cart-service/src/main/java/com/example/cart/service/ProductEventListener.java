@@ -0,0 +1,36 @@
+package com.example.cart.service;
+
+import com.example.cart.config.RabbitConfig;
+import com.example.cart.dto.ProductPriceChangedMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/** 상품 서비스 이벤트 수신 */
+@Component
+@RequiredArgsConstructor
+public class ProductEventListener {
+
+    private final CartUseCase cart;
+    private final ApplicationEventPublisher events;
+
+    /**
+     * 열린 장바구니 라인 재가격 (공유 큐: 한 인스턴스만 처리)
+     * 스냅샷 캐시를 UPDATE 전에 먼저 비움 — 인스턴스 큐 무효화를 기다리면 그 사이 담기가 옛 가격으로 들어와 재가격에서 빠짐
+     * 가격은 원 단위 정수만 (product-service 가 소수 가격을 400 으로 거절). 그래도 오면 계약 위반 → ArithmeticException → DLQ
+     */
+    @RabbitListener(queues = RabbitConfig.REPRICE_QUEUE)
+    public void onPriceChanged(ProductPriceChangedMessage msg) {
+        if (msg.productId() == null || msg.newPrice() == null) return;
+        long price = msg.newPrice().longValueExact();
+        events.publishEvent(new ProductChangedEvent(msg.productId()));
+        cart.repriceProduct(msg.productId(), price);
+    }
+
+    /** 이 인스턴스의 스냅샷 캐시 무효화 (인스턴스 전용 큐) */
+    @RabbitListener(queues = "#{productEventsInstanceQueue.name}")
+    public void onProductChanged(ProductPriceChangedMessage msg) {
+        events.publishEvent(new ProductChangedEvent(msg.productId()));
+    }
+}
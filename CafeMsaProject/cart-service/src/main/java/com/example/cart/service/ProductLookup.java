@@ -1,6 +1,46 @@
 package com.example.cart.service;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+
 public interface ProductLookup {
     ProductSnapshot getSnapshot(Long productId);
+
+    /** 비동기 조회. 기본 구현은 동기 조회 결과를 감싸기만 함 (stub 등) */
+    default CompletableFuture<ProductSnapshot> getSnapshotAsync(Long productId) {
+        try {
+            return CompletableFuture.completedFuture(getSnapshot(productId));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 여러 건 조회. 없는/구매불가 상품은 결과 Map 에서 빠진다 (예외 아님).
+     * 기본 구현은 단건 조회 반복 — HTTP 구현은 한 번의 호출로 처리
+     */
+    default Map<Long, ProductSnapshot> getSnapshots(Collection<Long> productIds) {
+        Map<Long, ProductSnapshot> result = new LinkedHashMap<>();
+        for (Long id : productIds) {
+            try {
+                result.put(id, getSnapshot(id));
+            } catch (NoSuchElementException ignored) {
+                // 없는 상품은 결과에서 제외
+            }
+        }
+        return result;
+    }
+
+    default CompletableFuture<Map<Long, ProductSnapshot>> getSnapshotsAsync(Collection<Long> productIds) {
+        try {
+            return CompletableFuture.completedFuture(getSnapshots(productIds));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     record ProductSnapshot(Long id, String name, Long price) {}
 }
@@ -0,0 +1,11 @@
+package com.example.cart.service;
+
+/**
+ * 상품 서비스 호출 실패(데드라인 초과, 풀 포화, 서킷 open, 5xx 등).
+ * '없는 상품'(NoSuchElementException)과 구분해서 503으로 응답하고 캐시하지 않는다.
+ */
+public class ProductLookupUnavailableException extends RuntimeException {
+    public ProductLookupUnavailableException(Object productIds, Throwable cause) {
+        super("상품 서비스 응답 불가: " + productIds, cause);
+    }
+}
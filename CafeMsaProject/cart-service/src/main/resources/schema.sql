@@ -10,9 +10,13 @@ CREATE TABLE CARTS (
                        status         VARCHAR(20) NOT NULL DEFAULT 'OPEN',
                        total_quantity INT         NOT NULL DEFAULT 0,
                        total_amount   BIGINT      NOT NULL DEFAULT 0,
+                       version        BIGINT      NOT NULL DEFAULT 0,
                        created_at     TIMESTAMP   DEFAULT CURRENT_TIMESTAMP,
                        updated_at     TIMESTAMP   DEFAULT CURRENT_TIMESTAMP
 );
+-- 사용자당 OPEN 헤더 1개 (합계 upsert 기준)
+-- 시드 행 없음: 합계는 CART_LINES 증감으로만 따라가므로 라인 없는 헤더를 넣으면 계속 어긋남
+CREATE UNIQUE INDEX IF NOT EXISTS uk_cart_user_status ON CARTS(user_id, status);
 
 -- ===============================
 -- CART_ITEMS (장바구니 상세)
@@ -0,0 +1,129 @@
+package com.example.cart.service;
+
+import com.example.cart.service.ProductLookup.ProductSnapshot;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpProductLookupTest {
+
+    private static final long MISSING_ID = 404L;
+
+    /** 받은 ?ids= 목록 (요청 한 번 = 원소 하나) */
+    private final List<List<Long>> requests = Collections.synchronizedList(new ArrayList<>());
+
+    private HttpProductLookup lookup(Duration window, int maxSize, HttpStatus status) {
+        WebClient client = WebClient.builder()
+                .exchangeFunction(req -> {
+                    String query = URLDecoder.decode(req.url().getRawQuery(), StandardCharsets.UTF_8);
+                    List<Long> ids = Arrays.stream(query.substring("ids=".length()).split(","))
+                            .map(Long::valueOf).toList();
+                    requests.add(ids);
+                    if (status != HttpStatus.OK) {
+                        return Mono.just(ClientResponse.create(status).build());
+                    }
+                    String body = ids.stream()
+                            .filter(id -> id != MISSING_ID)
+                            .map(id -> "{\"id\":" + id + ",\"name\":\"p" + id + "\",\"price\":" + (id * 100) + ",\"available\":true}")
+                            .collect(Collectors.joining(",", "[", "]"));
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(body)
+                            .build());
+                })
+                .build();
+        return new HttpProductLookup(client, CircuitBreaker.ofDefaults("test"),
+                Duration.ofSeconds(2), window, maxSize);
+    }
+
+    @Test
+    void fullWindowIsSentImmediatelyAsOneRequest() throws Exception {
+        // 구간이 길어도 batchMaxSize 에 닿으면 바로 전송
+        HttpProductLookup lookup = lookup(Duration.ofMinutes(1), 3, HttpStatus.OK);
+
+        CompletableFuture<ProductSnapshot> a = lookup.getSnapshotAsync(1L);
+        CompletableFuture<ProductSnapshot> b = lookup.getSnapshotAsync(2L);
+        CompletableFuture<ProductSnapshot> c = lookup.getSnapshotAsync(2L);
+        CompletableFuture<ProductSnapshot> d = lookup.getSnapshotAsync(3L); // 다음 구간
+
+        assertThat(a.get(1, TimeUnit.SECONDS).price()).isEqualTo(100L);
+        assertThat(b.get(1, TimeUnit.SECONDS).name()).isEqualTo("p2");
+        assertThat(c.get(1, TimeUnit.SECONDS).id()).isEqualTo(2L);
+        assertThat(requests).containsExactly(List.of(1L, 2L)); // 같은 id 는 한 번만
+        assertThat(d).isNotDone();
+    }
+
+    @Test
+    void partialWindowIsFlushedWhenTheWindowCloses() throws Exception {
+        HttpProductLookup lookup = lookup(Duration.ofMillis(20), 50, HttpStatus.OK);
+
+        CompletableFuture<ProductSnapshot> a = lookup.getSnapshotAsync(1L);
+        CompletableFuture<ProductSnapshot> b = lookup.getSnapshotAsync(2L);
+
+        assertThat(a.get(1, TimeUnit.SECONDS).id()).isEqualTo(1L);
+        assertThat(b.get(1, TimeUnit.SECONDS).id()).isEqualTo(2L);
+        assertThat(requests).containsExactly(List.of(1L, 2L));
+    }
+
+    @Test
+    void missingProductFailsOnlyItsOwnLookup() throws Exception {
+        HttpProductLookup lookup = lookup(Duration.ofMillis(20), 50, HttpStatus.OK);
+
+        CompletableFuture<ProductSnapshot> ok = lookup.getSnapshotAsync(1L);
+        CompletableFuture<ProductSnapshot> missing = lookup.getSnapshotAsync(MISSING_ID);
+
+        assertThat(ok.get(1, TimeUnit.SECONDS).id()).isEqualTo(1L);
+        assertThatThrownBy(() -> missing.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void serverErrorFailsEveryLookupInTheWindow() {
+        HttpProductLookup lookup = lookup(Duration.ofMillis(20), 50, HttpStatus.SERVICE_UNAVAILABLE);
+
+        CompletableFuture<ProductSnapshot> a = lookup.getSnapshotAsync(1L);
+        CompletableFuture<ProductSnapshot> b = lookup.getSnapshotAsync(2L);
+
+        for (CompletableFuture<ProductSnapshot> f : List.of(a, b)) {
+            assertThatThrownBy(() -> f.get(1, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(ProductLookupUnavailableException.class);
+        }
+    }
+
+    @Test
+    void batchSizeAboveServerLimitIsClamped() {
+        HttpProductLookup lookup = lookup(Duration.ofMillis(5), 500, HttpStatus.OK);
+        List<Long> ids = LongStream.rangeClosed(1, 250).boxed().toList();
+
+        Map<Long, ProductSnapshot> found = lookup.getSnapshots(ids);
+
+        assertThat(found).hasSize(250);
+        assertThat(requests).hasSize(3)
+                .allSatisfy(r -> assertThat(r).hasSizeLessThanOrEqualTo(HttpProductLookup.MAX_IDS_PER_REQUEST));
+    }
+}
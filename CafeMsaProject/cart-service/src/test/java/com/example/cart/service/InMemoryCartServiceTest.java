@@ -0,0 +1,216 @@
+package com.example.cart.service;
+
+import com.example.cart.dto.AddCartItemRequest;
+import com.example.cart.dto.CartItemResponse;
+import com.example.cart.model.CartLine;
+import com.example.cart.repository.CartLineBatchWriter;
+import com.example.cart.repository.CartLineRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InMemoryCartServiceTest {
+
+    private ProductLookup productLookup;
+    private CartLineRepository repo;
+    private CartLineBatchWriter writer;
+
+    /** 성공한 replaceOpenLines 호출마다 (사용자, 행) 복사본 */
+    private final List<Collection<Long>> writtenUsers = new ArrayList<>();
+    private final List<List<CartLine>> writtenRows = new ArrayList<>();
+    /** null 이 아니면 저장 실패 */
+    private RuntimeException failWith;
+    /** 저장 도중 한 번 실행 (flush 와 다른 요청이 겹치는 경우) */
+    private Runnable duringWrite;
+
+    @BeforeEach
+    void setUp() {
+        productLookup = mock(ProductLookup.class);
+        when(productLookup.getSnapshot(any())).thenAnswer(inv -> {
+            Long id = inv.getArgument(0);
+            return new ProductLookup.ProductSnapshot(id, "p" + id, id * 100);
+        });
+        repo = mock(CartLineRepository.class);
+        when(repo.findByStatus(CartLine.Status.OPEN)).thenReturn(List.of());
+        writer = mock(CartLineBatchWriter.class);
+        doAnswer(inv -> {
+            if (failWith != null) throw failWith;
+            writtenUsers.add(List.copyOf(inv.<Collection<Long>>getArgument(0)));
+            writtenRows.add(List.copyOf(inv.<List<CartLine>>getArgument(1)));
+            Runnable r = duringWrite;
+            duringWrite = null;
+            if (r != null) r.run();
+            return null;
+        }).when(writer).replaceOpenLines(anyCollection(), anyList());
+    }
+
+    private InMemoryCartService service(int flushBatchUsers) {
+        return new InMemoryCartService(productLookup, repo, writer, flushBatchUsers);
+    }
+
+    private static AddCartItemRequest item(long productId, int qty) {
+        AddCartItemRequest r = new AddCartItemRequest();
+        r.setProductId(productId);
+        r.setQuantity(qty);
+        return r;
+    }
+
+    @Test
+    void repeatedChangesAreWrittenOnceWithTheLatestState() {
+        InMemoryCartService cart = service(500);
+        cart.add(1L, item(10, 1));
+        cart.add(1L, item(10, 2));
+        cart.add(1L, item(20, 1));
+
+        cart.flush();
+
+        assertThat(writtenUsers).containsExactly(List.of(1L));
+        assertThat(writtenRows.get(0))
+                .extracting(CartLine::getProductId, CartLine::getQuantity, CartLine::getPrice)
+                .containsExactlyInAnyOrder(
+                        tuple(10L, 3, 1000L),
+                        tuple(20L, 1, 2000L));
+
+        // 바뀐 것이 없으면 쓰지 않음
+        cart.flush();
+        assertThat(writtenUsers).hasSize(1);
+    }
+
+    @Test
+    void dirtyUsersAreWrittenInBatchesOfFlushBatchUsers() {
+        InMemoryCartService cart = service(2);
+        cart.add(1L, item(10, 1));
+        cart.add(2L, item(10, 1));
+        cart.add(3L, item(10, 1));
+
+        cart.flush();
+
+        assertThat(writtenUsers).hasSize(2);
+        assertThat(writtenUsers).allSatisfy(users -> assertThat(users).hasSizeLessThanOrEqualTo(2));
+        assertThat(writtenUsers.stream().flatMap(Collection::stream)).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void failedWriteIsRetriedOnTheNextFlush() {
+        InMemoryCartService cart = service(500);
+        cart.add(1L, item(10, 1));
+
+        failWith = new IllegalStateException("db down");
+        cart.flush();
+        assertThat(writtenUsers).isEmpty();
+
+        failWith = null;
+        cart.flush();
+
+        assertThat(writtenUsers).containsExactly(List.of(1L));
+        assertThat(writtenRows.get(0)).extracting(CartLine::getQuantity).containsExactly(1);
+    }
+
+    @Test
+    void emptyCartIsEvictedOnlyAfterItsDeletionIsWritten() {
+        InMemoryCartService cart = service(500);
+        cart.add(1L, item(10, 1));
+        cart.flush();
+        cart.clear(1L);
+
+        failWith = new IllegalStateException("db down");
+        cart.flush();
+        // 저장 실패 → 아직 메모리에 남아 있어야 DB 의 옛 라인을 다음에 지움
+        assertThat(cart.version(1L)).isNotZero();
+
+        failWith = null;
+        cart.flush();
+        assertThat(writtenRows.get(writtenRows.size() - 1)).isEmpty();
+        assertThat(cart.version(1L)).isZero(); // 맵에서 제거됨
+
+        // 제거 뒤 다시 담으면 새 장바구니로 저장
+        cart.add(1L, item(20, 1));
+        assertThat(cart.version(1L)).isPositive();
+        cart.flush();
+        assertThat(writtenRows.get(writtenRows.size() - 1)).extracting(CartLine::getProductId).containsExactly(20L);
+    }
+
+    @Test
+    void cartChangedDuringWriteIsNotEvictedAndIsWrittenAgain() {
+        InMemoryCartService cart = service(500);
+        cart.add(1L, item(10, 1));
+        cart.flush();
+        cart.clear(1L);
+
+        // 빈 장바구니를 저장하는 사이에 다시 담음 → 저장한 버전과 달라 제거하면 안 됨
+        duringWrite = () -> cart.add(1L, item(20, 1));
+        cart.flush();
+
+        assertThat(cart.list(1L)).extracting(CartItemResponse::getProductId).containsExactly(20L);
+        assertThat(writtenRows.get(writtenRows.size() - 1)).extracting(CartLine::getProductId).containsExactly(20L);
+    }
+
+    @Test
+    void shutdownFlushWaitsForTheRunningFlush() throws Exception {
+        InMemoryCartService cart = service(500);
+        cart.add(1L, item(10, 1));
+
+        // 주기 flush 가 쓰는 도중 종료 flush 가 들어옴 → 앞의 저장이 끝날 때까지 writer 에 들어가지 않아야 함
+        Thread shutdown = new Thread(cart::flushOnShutdown);
+        boolean[] blocked = new boolean[1];
+        duringWrite = () -> {
+            cart.add(1L, item(10, 1));
+            shutdown.start();
+            try {
+                shutdown.join(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            blocked[0] = shutdown.isAlive() && writtenUsers.size() == 1;
+        };
+        cart.flush();
+        shutdown.join(5000);
+
+        assertThat(blocked[0]).isTrue();
+        assertThat(writtenRows).hasSize(2);
+        assertThat(writtenRows.get(1)).extracting(CartLine::getQuantity).containsExactly(2);
+    }
+
+    @Test
+    void openLinesAreRestoredOnStartupAndNewIdsContinueAfterThem() {
+        when(repo.findByStatus(CartLine.Status.OPEN)).thenReturn(List.of(
+                CartLine.builder().id(41L).userId(1L).status(CartLine.Status.OPEN)
+                        .productId(10L).productName("p10").price(1000L).quantity(2)
+                        .updatedAt(LocalDateTime.now()).build()));
+        InMemoryCartService cart = service(500);
+
+        assertThat(cart.summary(1L).getTotalQuantity()).isEqualTo(2);
+        assertThat(cart.summary(1L).getTotalAmount()).isEqualTo(2000L);
+        assertThat(cart.add(1L, item(20, 1)).getId()).isEqualTo(42L);
+        verify(writer, never()).replaceOpenLines(anyCollection(), anyList());
+        cart.flush();
+        verify(writer, times(1)).replaceOpenLines(anyCollection(), anyList());
+    }
+
+    @Test
+    void writeReceivesCopiesNotTheLiveLines() {
+        InMemoryCartService cart = service(500);
+        cart.add(1L, item(10, 1));
+
+        cart.flush();
+        cart.add(1L, item(10, 5));
+
+        assertThat(writtenRows.get(0)).extracting(CartLine::getQuantity).containsExactly(1);
+    }
+}
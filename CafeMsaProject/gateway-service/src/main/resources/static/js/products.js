@@ -442,7 +442,10 @@ async function saveProduct() {
     try {
         const response = await fetch(id ? `/api/products/${id}` : '/api/products', {
             method: id ? 'PUT' : 'POST',
-            headers: { 'Content-Type': 'application/json' },
+            headers: {
+                'Content-Type': 'application/json',
+                'Authorization': `Bearer ${localStorage.getItem('token')}` // product-service 가 JWT 로 사장 권한 확인
+            },
             body: JSON.stringify(product)
         });
 
@@ -465,7 +468,10 @@ async function deleteProduct(id) {
     if (!confirm('정말 삭제하시겠습니까?')) return;
 
     try {
-        const response = await fetch(`/api/products/${id}`, { method: 'DELETE' });
+        const response = await fetch(`/api/products/${id}`, {
+            method: 'DELETE',
+            headers: { 'Authorization': `Bearer ${localStorage.getItem('token')}` }
+        });
         if (!response.ok) throw new Error();
 
         await loadProducts();
@@ -476,9 +482,14 @@ async function deleteProduct(id) {
 }
 
 // ===== 상품 상세 보기 =====
-function showProductDetail(id) {
-    const product = allProducts.find(p => p.id === id);
-    if (!product) {
+// 목록(/api/products)은 요약 필드만 내려오므로 상세 필드는 단건 조회로 가져옴
+async function showProductDetail(id) {
+    let product;
+    try {
+        const response = await fetch(`/api/products/${id}`);
+        if (!response.ok) throw new Error("상품 조회 실패");
+        product = await response.json();
+    } catch (e) {
         alert('상품 정보를 찾을 수 없습니다.');
         return;
     }
@@ -24,4 +24,29 @@ public class Order_Product {
     private String caffeine;
     @Column(name = "image_url")
     private String imageUrl;
+
+    // 영양 정보 숫자값 (위 문자열에서 저장 시 자동 계산). 모르면 null
+    @Column(name = "calorie_kcal")
+    private Double calorieKcal;
+    @Column(name = "fat_g")
+    private Double fatG;
+    @Column(name = "sugar_g")
+    private Double sugarG;
+    @Column(name = "sodium_mg")
+    private Double sodiumMg;
+    @Column(name = "protein_g")
+    private Double proteinG;
+    @Column(name = "caffeine_mg")
+    private Double caffeineMg;
+
+    @PrePersist
+    @PreUpdate
+    public void syncNutrition() {
+        this.calorieKcal = NutritionParser.kcal(calorie);
+        this.fatG = NutritionParser.grams(fat);
+        this.sugarG = NutritionParser.grams(sugar);
+        this.sodiumMg = NutritionParser.milligrams(sodium);
+        this.proteinG = NutritionParser.grams(protein);
+        this.caffeineMg = NutritionParser.milligrams(caffeine);
+    }
 }
\ No newline at end of file
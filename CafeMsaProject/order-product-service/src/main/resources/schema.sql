@@ -13,5 +13,12 @@ CREATE TABLE ORDER_PRODUCT (
         sodium VARCHAR(50),
         protein VARCHAR(50),
         caffeine VARCHAR(50),
-        image_url VARCHAR(255)
+        image_url VARCHAR(255),
+        -- 영양 정보 숫자값 (문자열에서 파싱). 범위 필터가 없으므로 인덱스는 두지 않음
+        calorie_kcal DOUBLE,
+        fat_g DOUBLE,
+        sugar_g DOUBLE,
+        sodium_mg DOUBLE,
+        protein_g DOUBLE,
+        caffeine_mg DOUBLE
 );
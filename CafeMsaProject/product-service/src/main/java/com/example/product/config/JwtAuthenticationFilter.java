@@ -0,0 +1,44 @@
+package com.example.product.config;
+
+import com.example.product.util.JwtVerifier;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authorization: Bearer 토큰 → SecurityContext (세션/비밀번호 확인 없음)
+ * 토큰이 없거나 유효하지 않으면 익명으로 진행 → 이후 접근제어에서 401/403
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private final JwtVerifier jwtVerifier;
+
+    public JwtAuthenticationFilter(JwtVerifier jwtVerifier) {
+        this.jwtVerifier = jwtVerifier;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        String header = request.getHeader("Authorization");
+        if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
+            JwtVerifier.Principal principal = jwtVerifier.verify(header.substring(7));
+            if (principal != null) {
+                var auth = new UsernamePasswordAuthenticationToken(
+                        principal.username(), null, List.of(new SimpleGrantedAuthority(principal.role())));
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            }
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.product.config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitConfig {
+
+    // 상품 변경 이벤트 익스체인지 (구독 측이 각자 큐를 바인딩)
+    public static final String PRODUCT_EVENTS_EXCHANGE = "product.events";
+    public static final String PRICE_CHANGED_KEY = "product.price-changed";
+    public static final String CACHE_INVALIDATE_KEY = "product.cache.invalidate";
+
+    @Bean
+    public TopicExchange productEventsExchange() {
+        return new TopicExchange(PRODUCT_EVENTS_EXCHANGE);
+    }
+
+    // 캐시 무효화는 인스턴스마다 받아야 함 → 인스턴스 전용 임시 큐
+    @Bean
+    public Queue productCacheInstanceQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding productCacheInstanceBinding() {
+        return BindingBuilder.bind(productCacheInstanceQueue()).to(productEventsExchange()).with(CACHE_INVALIDATE_KEY);
+    }
+
+    // 메시지 컨버터 (JSON 직렬화/역직렬화)
+    @Bean
+    public MessageConverter jsonMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+
+    // RabbitTemplate 설정
+    @Bean
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+        RabbitTemplate template = new RabbitTemplate(connectionFactory);
+        template.setMessageConverter(jsonMessageConverter());
+        return template;
+    }
+}
@@ -1,74 +1,61 @@
 package com.example.product.config;
 
+import com.example.product.util.JwtVerifier;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
+/**
+ * 인증 = auth-service 가 발급한 JWT 를 이 서비스에서 직접 검증 (무상태, 요청마다 BCrypt 없음)
+ * - ROLE_OWNER (사장): 상품 CRUD / 가져오기 / 내보내기
+ * - ROLE_USER  (사용자): 조회 + 재고 예약
+ */
 @Configuration
 @EnableMethodSecurity   // @PreAuthorize 활성화
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtVerifier jwtVerifier) throws Exception {
         http
                 // H2 콘솔 사용을 위해 CSRF & frameOptions 조정 (개발용)
                 .csrf(csrf -> csrf.disable())
                 .headers(headers -> headers.frameOptions(frame -> frame.disable()))
+                .sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
                 .authorizeHttpRequests(auth -> auth
                         // ✅ 1) H2 콘솔 허용 (PathRequest 사용)
                         .requestMatchers(PathRequest.toH2Console()).permitAll()
+                        // 401/403 sendError 후 /error 포워드 (무상태라 여기선 익명) → 막으면 403 이 401 로 바뀜
+                        .requestMatchers(new AntPathRequestMatcher("/error")).permitAll()
+
+                        // 내보내기는 GET 이지만 전체 테이블 스캔 → 아래 GET 허용보다 먼저, 사장만
+                        .requestMatchers(new AntPathRequestMatcher("/api/products/export", "GET")).hasRole("OWNER")
 
                         // ✅ 2) 상품 조회(GET /api/products/**)는 모두 허용
                         // 문자열 말고 AntPathRequestMatcher로 명시
                         .requestMatchers(new AntPathRequestMatcher("/api/products/**", "GET")).permitAll()
 
-                        // ✅ 3) 그 외 모든 요청은 인증 필요
+                        // ✅ 3) 재고 예약은 로그인 사용자 누구나, 그 외 상품 변경은 사장만
+                        .requestMatchers(new AntPathRequestMatcher("/api/products/reservations/**")).authenticated()
+                        .requestMatchers(new AntPathRequestMatcher("/api/products/**")).hasRole("OWNER")
+
+                        // ✅ 4) 그 외 모든 요청은 인증 필요
                         .anyRequest().authenticated()
                 )
-
-                // 개발 단계에선 Basic으로 테스트 (나중에 JWT 등으로 교체 가능)
-                .httpBasic(Customizer.withDefaults())
-
-                // 폼 로그인 추가 (브라우저 테스트용)
-                .formLogin(Customizer.withDefaults());
+                .exceptionHandling(e -> e
+                        .authenticationEntryPoint((req, res, ex) -> res.sendError(HttpServletResponse.SC_UNAUTHORIZED))
+                        .accessDeniedHandler((req, res, ex) -> res.sendError(HttpServletResponse.SC_FORBIDDEN))
+                )
+                // JWT 필터: UsernamePasswordAuthenticationFilter 전에
+                .addFilterBefore(new JwtAuthenticationFilter(jwtVerifier), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
-
-    /**
-     * 테스트용 인메모리 유저
-     * - owner / owner1234  → ROLE_OWNER (사장, CRUD 가능)
-     * - user  / user1234   → ROLE_USER  (사용자, 조회 + 장바구니)
-     */
-    @Bean
-    public UserDetailsService userDetailsService(PasswordEncoder passwordEncoder) {
-        UserDetails owner = User.withUsername("owner")
-                .password(passwordEncoder.encode("owner1234"))
-                .roles("OWNER") // ROLE_OWNER
-                .build();
-
-        UserDetails user = User.withUsername("user")
-                .password(passwordEncoder.encode("user1234"))
-                .roles("USER") // ROLE_USER
-                .build();
-
-        return new InMemoryUserDetailsManager(owner, user);
-    }
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
 }
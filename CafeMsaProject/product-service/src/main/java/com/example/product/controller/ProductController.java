@@ -1,81 +1,201 @@
 package com.example.product.controller;
 
+import com.example.product.dto.CategoryCount;
+import com.example.product.dto.ProductListFilter;
+import com.example.product.dto.ProductListItem;
+import com.example.product.dto.ProductPageResponse;
+import com.example.product.dto.ProductSearchResponse;
+import com.example.product.model.CatalogVersion;
 import com.example.product.model.Product;
+import com.example.product.repository.CatalogVersionRepository;
 import com.example.product.repository.ProductRepository;
+import com.example.product.service.HotStockCounters;
+import com.example.product.service.ProductCatalogCache;
+import com.example.product.service.ProductFacetCounts;
+import com.example.product.service.ProductSearchIndex;
+import com.example.product.service.ProductWriteService;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Instant;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
 
+    private static final int MAX_BULK_IDS = 100;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ProductRepository productRepository;
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final ProductCatalogCache catalogCache;
+    private final ProductSearchIndex searchIndex;
+    private final ProductFacetCounts facetCounts;
+    private final ProductWriteService productWriteService;
+    private final HotStockCounters hotStock;
 
-    public ProductController(ProductRepository productRepository) {
+    public ProductController(ProductRepository productRepository,
+                             CatalogVersionRepository catalogVersionRepository,
+                             ProductCatalogCache catalogCache,
+                             ProductSearchIndex searchIndex,
+                             ProductFacetCounts facetCounts,
+                             ProductWriteService productWriteService,
+                             HotStockCounters hotStock) {
         this.productRepository = productRepository;
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.catalogCache = catalogCache;
+        this.searchIndex = searchIndex;
+        this.facetCounts = facetCounts;
+        this.productWriteService = productWriteService;
+        this.hotStock = hotStock;
     }
 
-    // 전체 조회
+    // 전체 조회 (파라미터 없을 때: 기존 products.js 호환) - 목록 컬럼만
+    // 키셋 페이지 조회 (?after=마지막id&limit=20&category=음료&keyword=라떼&maxSugar=10&maxCaffeine=0 중 하나라도 있을 때)
+    // - id 순 고정 정렬, 당류(g)/카페인(mg) 상한은 숫자 컬럼 범위 조건
+    // ETag/Last-Modified = 목록 버전 (URL 마다 캐시되므로 필터/페이지가 달라도 같은 버전 사용)
+    // 재고 예약/해제는 품절 여부가 바뀔 때만 버전을 올림 → 목록의 재고 숫자는 품절/판매중 판단용 (정확한 값은 단건 조회)
+    // 버전을 먼저 읽으므로 사이에 변경이 끼어도 "새 내용 + 옛 ETag" 쪽으로만 어긋남 → 다음 요청에서 다시 받음
     @GetMapping
-    public List<Product> getAllProducts() {
-        return productRepository.findAll();
+    public ResponseEntity<?> getAllProducts(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Double maxSugar,
+            @RequestParam(required = false) Double maxCaffeine,
+            WebRequest request) {
+        if (after == null && limit == null && category == null && keyword == null
+                && maxSugar == null && maxCaffeine == null) {
+            ProductCatalogCache.CatalogSnapshot catalog = catalogCache.getCatalog();
+            if (request.checkNotModified(catalogEtag(catalog.version()), catalog.updatedAt().toEpochMilli())) {
+                return null; // 304 (헤더는 checkNotModified 가 설정)
+            }
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(catalog.items());
+        }
+
+        // 페이지 요청은 버전 행만 읽음 (전체 목록 스냅샷을 만들지 않음)
+        CatalogVersion cv = catalogVersionRepository.findById(CatalogVersion.ID)
+                .orElseGet(() -> new CatalogVersion(CatalogVersion.ID, 0L, Instant.EPOCH));
+        if (request.checkNotModified(catalogEtag(cv.getVersion()), cv.getUpdatedAt().toEpochMilli())) {
+            return null;
+        }
+        int size = (limit == null) ? DEFAULT_PAGE_SIZE : limit;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        // 키워드는 역색인에서 이름 일치 id 를 먼저 구함 (LIKE '%..%' 는 인덱스를 못 탐)
+        String kw = blankToNull(keyword);
+        List<Long> keywordIds = (kw == null) ? null : searchIndex.idsWithNameContaining(kw);
+        return getProductPage(new ProductListFilter(after == null ? 0L : after,
+                blankToNull(category), kw, keywordIds, maxSugar, maxCaffeine), size);
     }
 
-    // 단건 조회
+    private ResponseEntity<ProductPageResponse<ProductListItem>> getProductPage(ProductListFilter filter, int limit) {
+        Slice<ProductListItem> page = productRepository.findPage(filter, limit);
+
+        List<ProductListItem> items = hotStock.withAllowance(page.getContent());
+        Long nextAfter = page.hasNext() ? items.get(items.size() - 1).id() : null;
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(new ProductPageResponse<>(items, nextAfter));
+    }
+
+    // 여러 건 조회 (?ids=1,2,3) - 캐시에 없는 것만 IN 쿼리 한 번으로 처리, 없는 id는 결과에서 빠짐
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<ProductListItem>> getProductsByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_BULK_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(catalogCache.getListItems(ids));
+    }
+
+    // 검색 (?q=라떼&page=0&size=20) - 이름/카테고리/설명/알레르기, 2-gram 역색인 점수순
+    @GetMapping("/search")
+    public ResponseEntity<ProductSearchResponse> search(@RequestParam String q,
+                                                        @RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        if (q.isBlank() || page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        ProductSearchIndex.SearchResult result = searchIndex.search(q, page, size);
+        return ResponseEntity.ok(new ProductSearchResponse(
+                catalogCache.getListItems(result.ids()), result.total(), page, size));
+    }
+
+    // 카테고리별 상품 수 (메뉴 렌더링용) - 메모리에서 바로, GROUP BY 없음
+    @GetMapping("/facets/categories")
+    public List<CategoryCount> getCategoryFacets() {
+        return facetCounts.categories();
+    }
+
+    // 단건 조회 (캐시) - 조건부 요청이면 version/updatedAt 비교 후 304
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProduct(@PathVariable Long id) {
-        return productRepository.findById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<Product> getProduct(@PathVariable Long id, WebRequest request) {
+        Product p = catalogCache.getProduct(id);
+        if (p == null) {
+            return ResponseEntity.notFound().build();
+        }
+        // 인기 상품은 메모리 차감만으로는 행 version 이 안 바뀌므로 보이는 재고도 ETag 에 포함
+        if (request.checkNotModified("\"" + p.getVersion() + "-" + p.getStock() + "\"", p.getUpdatedAt().toEpochMilli())) {
+            return null; // 304
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(p);
     }
 
-    // 생성
+    // 생성 (상품 + 목록 버전 한 트랜잭션, 캐시 무효화는 커밋 후)
     @PostMapping
     public Product createProduct(@RequestBody Product product) {
-        product.setId(null); // 안전하게
-        return productRepository.save(product);
+        requireWholePrice(product.getPrice());
+        return productWriteService.create(product);
     }
 
     // 수정
     @PutMapping("/{id}")
     public ResponseEntity<Product> updateProduct(@PathVariable Long id,
                                                  @RequestBody Product update) {
-        return productRepository.findById(id)
-                .map(p -> {
-                    p.setName(update.getName());
-                    p.setPrice(update.getPrice());
-                    p.setStock(update.getStock());
-                    p.setCategory(update.getCategory());
-
-                    // 상세 스펙 필드들
-                    p.setCalorie(update.getCalorie());
-                    p.setDescription(update.getDescription());
-                    p.setAllergy(update.getAllergy());
-
-                    // 영양 정보 필드들
-                    p.setFat(update.getFat());
-                    p.setSugar(update.getSugar());
-                    p.setSodium(update.getSodium());
-                    p.setProtein(update.getProtein());
-                    p.setCaffeine(update.getCaffeine());
-
-                    // 이미지 URL
-                    p.setImageUrl(update.getImageUrl());
-
-                    return ResponseEntity.ok(productRepository.save(p));
-                })
+        requireWholePrice(update.getPrice());
+        return productWriteService.update(id, update)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     // 삭제
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
-        if (!productRepository.existsById(id)) {
+        if (!productWriteService.delete(id)) {
             return ResponseEntity.notFound().build();
         }
-        productRepository.deleteById(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    // 수정 도중 재고 예약 등으로 상품이 바뀜 (version 불일치) → 다시 읽고 수정
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleConflict(ObjectOptimisticLockingFailureException e) {
+        return ResponseEntity.status(409).body("상품이 그 사이에 변경되었습니다. 다시 시도해 주세요.");
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    // 가격은 원 단위 정수만 (장바구니는 long 으로 받음 → 소수면 담기/재가격에서 값이 달라짐)
+    private static void requireWholePrice(Double price) {
+        if (price != null && price != Math.rint(price)) {
+            throw new IllegalArgumentException("price는 원 단위 정수여야 합니다.");
+        }
+    }
+
+    private static String catalogEtag(long version) {
+        return "\"c" + version + "\"";
+    }
+
+    private static String blankToNull(String s) {
+        return (s == null || s.isBlank()) ? null : s.trim();
+    }
+}
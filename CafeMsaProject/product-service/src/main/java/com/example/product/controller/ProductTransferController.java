@@ -0,0 +1,93 @@
+package com.example.product.controller;
+
+import com.example.product.dto.ImportSummary;
+import com.example.product.service.CatalogExportService;
+import com.example.product.service.CatalogImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 상품 대량 가져오기/내보내기
+ * - POST /api/products/import[?ignoreIds=true]  (Content-Type: application/x-ndjson 또는 text/csv, 사장 전용)
+ *   응답은 NDJSON 스트림: 배치가 커밋될 때마다 ImportBatchReport 한 줄, 마지막 줄은 ImportSummary
+ *   ignoreIds: 행의 id 를 무시하고 모두 새 상품으로 추가 (다른 DB 에서 내보낸 파일을 빈 DB 로 옮길 때)
+ * - GET  /api/products/export?format=ndjson|csv  (사장 전용 - 전체 테이블을 훑으므로 익명 호출 불가)
+ */
+@RestController
+@RequestMapping("/api/products")
+@RequiredArgsConstructor
+public class ProductTransferController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
+    private final CatalogImportService importService;
+    private final CatalogExportService exportService;
+    private final ObjectMapper objectMapper;
+
+    @PreAuthorize("hasRole('OWNER')")
+    @PostMapping(value = "/import", consumes = {NDJSON, CSV})
+    public void importProducts(@RequestParam(defaultValue = "false") boolean ignoreIds,
+                               HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CatalogImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType(CSV))
+                ? CatalogImportService.Format.CSV : CatalogImportService.Format.NDJSON;
+        Charset charset = (request.getCharacterEncoding() == null)
+                ? StandardCharsets.UTF_8 : Charset.forName(request.getCharacterEncoding());
+
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        Writer out = response.getWriter();
+
+        ImportSummary summary = importService.importCatalog(
+                new InputStreamReader(request.getInputStream(), charset), format, ignoreIds,
+                report -> writeLine(out, report));
+        writeLine(out, summary);
+    }
+
+    @PreAuthorize("hasRole('OWNER')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "ndjson") String format) {
+        CatalogImportService.Format f = switch (format.toLowerCase()) {
+            case "ndjson" -> CatalogImportService.Format.NDJSON;
+            case "csv" -> CatalogImportService.Format.CSV;
+            default -> throw new IllegalArgumentException("format은 ndjson 또는 csv 입니다.");
+        };
+        String type = (f == CatalogImportService.Format.CSV) ? CSV : NDJSON;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(type + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products." + format.toLowerCase() + "\"")
+                .body(out -> exportService.export(f, out));
+    }
+
+    // 진행 상황 한 줄 + 바로 flush (클라이언트가 배치마다 받음)
+    private void writeLine(Writer out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsString(value));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
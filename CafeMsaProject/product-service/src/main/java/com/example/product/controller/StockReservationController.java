@@ -0,0 +1,67 @@
+package com.example.product.controller;
+
+import com.example.product.dto.StockReservationRequest;
+import com.example.product.dto.StockReservationResponse;
+import com.example.product.service.StockReservationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.NoSuchElementException;
+
+/**
+ * 재고 예약 API (주문 서비스 → 결제 전 재고 확보)
+ * - POST   /api/products/reservations              예약 (201, 재고 부족 409)
+ * - POST   /api/products/reservations/{id}/confirm 확정
+ * - DELETE /api/products/reservations/{id}         해제 (재고 복구)
+ * 확정/해제는 예약한 사용자 본인 또는 사장(ROLE_OWNER)만. 남의 예약 id 는 404
+ */
+@RestController
+@RequestMapping("/api/products/reservations")
+@RequiredArgsConstructor
+public class StockReservationController {
+
+    private final StockReservationService reservations;
+
+    @PostMapping
+    public ResponseEntity<StockReservationResponse> reserve(@RequestBody StockReservationRequest req,
+                                                            Authentication auth) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(StockReservationResponse.from(reservations.reserve(req.items(), auth.getName())));
+    }
+
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<StockReservationResponse> confirm(@PathVariable Long id, Authentication auth) {
+        return ResponseEntity.ok(StockReservationResponse.from(
+                reservations.confirm(id, auth.getName(), isOwnerRole(auth))));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> release(@PathVariable Long id, Authentication auth) {
+        reservations.release(id, auth.getName(), isOwnerRole(auth));
+        return ResponseEntity.noContent().build();
+    }
+
+    private static boolean isOwnerRole(Authentication auth) {
+        return auth.getAuthorities().stream().anyMatch(a -> "ROLE_OWNER".equals(a.getAuthority()));
+    }
+
+    /* ---- 예외 처리 ---- */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<String> handleNotFound(NoSuchElementException e) {
+        return ResponseEntity.status(404).body(e.getMessage());
+    }
+
+    // 재고 부족(InsufficientStockException) / 만료·확정된 예약
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> handleConflict(IllegalStateException e) {
+        return ResponseEntity.status(409).body(e.getMessage());
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.product.dto;
+
+/** 카테고리 facet (카테고리, 상품 수) */
+public record CategoryCount(String category, long count) {}
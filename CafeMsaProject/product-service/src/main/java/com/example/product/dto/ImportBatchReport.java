@@ -0,0 +1,10 @@
+package com.example.product.dto;
+
+import java.util.List;
+
+/**
+ * 배치 1개 커밋 결과 (진행 상황으로 바로 내려감). errors 는 앞쪽 일부만, 개수는 failed
+ * superseded = 같은 배치의 뒤쪽 행(같은 id/이름)에 덮여서 반영되지 않은 행
+ */
+public record ImportBatchReport(int batch, long firstLine, long lastLine,
+                                int inserted, int updated, int superseded, int failed, List<ImportError> errors) {}
@@ -0,0 +1,4 @@
+package com.example.product.dto;
+
+/** 가져오기 실패 행 (line = 파일의 줄 번호, CSV 는 레코드 시작 줄) */
+public record ImportError(long line, String message) {}
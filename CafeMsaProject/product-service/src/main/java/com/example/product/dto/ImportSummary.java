@@ -0,0 +1,5 @@
+package com.example.product.dto;
+
+/** 가져오기 전체 결과 (마지막 줄). error != null 이면 파일 형식 문제로 중간에 멈춤 */
+public record ImportSummary(int batches, long rows, int inserted, int updated, int superseded, int failed,
+                            long elapsedMs, String error) {}
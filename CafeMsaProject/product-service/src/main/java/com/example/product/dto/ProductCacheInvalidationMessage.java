@@ -0,0 +1,10 @@
+package com.example.product.dto;
+
+/**
+ * 상품 캐시 무효화 브로드캐스트 (product.events / product.cache.invalidate)
+ * productId == null 이면 목록만 무효화, all == true 면 전체 (대량 가져오기 후). publishedAt 은 수신 측 지연 측정용 (epoch ms)
+ * stockOnly == true 면 재고만 바뀜 (예약/해제) → 검색 색인/패싯 갱신 생략
+ * stockReset == true 면 인기 상품 재고를 절대값으로 씀 → 수신 측은 그 상품의 메모리 몫을 버림
+ */
+public record ProductCacheInvalidationMessage(Long productId, boolean all, boolean stockOnly, boolean stockReset,
+                                              String origin, long publishedAt) {}
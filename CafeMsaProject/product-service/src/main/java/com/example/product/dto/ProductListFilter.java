@@ -0,0 +1,10 @@
+package com.example.product.dto;
+
+import java.util.List;
+
+/**
+ * 목록 조회 조건 (null 이면 조건 없음)
+ * keywordIds: 이름에 keyword 가 들어간 상품 id (역색인, 오름차순). 있으면 LIKE 대신 이 id 로 거름
+ */
+public record ProductListFilter(long after, String category, String keyword, List<Long> keywordIds,
+                                Double maxSugar, Double maxCaffeine) {}
@@ -0,0 +1,8 @@
+package com.example.product.dto;
+
+/**
+ * 목록용 상품 (목록 화면/장바구니 조회에 필요한 컬럼만)
+ * JPQL 생성자 프로젝션으로 바로 조회 → description/allergy/영양 정보 컬럼은 select 되지 않음
+ * 전체 필드는 GET /api/products/{id}
+ */
+public record ProductListItem(Long id, String name, Double price, String category, Integer stock, String imageUrl) {}
@@ -0,0 +1,9 @@
+package com.example.product.dto;
+
+import java.util.List;
+
+/**
+ * 키셋 페이지 응답
+ * nextAfter: 다음 페이지 요청 시 ?after= 로 넘길 값 (마지막 항목 id), 더 없으면 null
+ */
+public record ProductPageResponse<T>(List<T> items, Long nextAfter) {}
@@ -0,0 +1,4 @@
+package com.example.product.dto;
+
+/** 가격 변경 이벤트 (product.events / product.price-changed) */
+public record ProductPriceChangedMessage(Long productId, Double oldPrice, Double newPrice) {}
@@ -0,0 +1,6 @@
+package com.example.product.dto;
+
+import java.util.List;
+
+/** 검색 결과 (점수순). total = 전체 일치 건수 */
+public record ProductSearchResponse(List<ProductListItem> items, int total, int page, int size) {}
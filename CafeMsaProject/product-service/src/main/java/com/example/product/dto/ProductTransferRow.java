@@ -0,0 +1,28 @@
+package com.example.product.dto;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 가져오기/내보내기 한 행 (NDJSON 필드명 = CSV 헤더)
+ * 내보낸 파일은 같은 DB 에는 그대로(id 기준), 다른(빈) DB 에는 ignoreIds 로(전부 새로 추가) 다시 가져올 수 있음
+ */
+public record ProductTransferRow(Long id, String name, Double price, Integer stock, String category,
+                                 String size, String calorie, String description, String allergy,
+                                 String fat, String sugar, String sodium, String protein, String caffeine,
+                                 String imageUrl) {
+
+    public static final List<String> COLUMNS = List.of(
+            "id", "name", "price", "stock", "category",
+            "size", "calorie", "description", "allergy",
+            "fat", "sugar", "sodium", "protein", "caffeine",
+            "imageUrl");
+
+    /** COLUMNS 순서 값 (CSV 쓰기용) */
+    public List<Object> values() {
+        return Arrays.asList(id, name, price, stock, category,
+                size, calorie, description, allergy,
+                fat, sugar, sodium, protein, caffeine,
+                imageUrl);
+    }
+}
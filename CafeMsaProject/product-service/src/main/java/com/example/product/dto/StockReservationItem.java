@@ -0,0 +1,4 @@
+package com.example.product.dto;
+
+/** 예약 항목 (요청/응답 공용) */
+public record StockReservationItem(Long productId, Integer quantity) {}
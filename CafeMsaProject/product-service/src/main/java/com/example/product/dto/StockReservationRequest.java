@@ -0,0 +1,6 @@
+package com.example.product.dto;
+
+import java.util.List;
+
+/** 재고 예약 요청 - 전부 차감되거나 하나도 차감되지 않음 */
+public record StockReservationRequest(List<StockReservationItem> items) {}
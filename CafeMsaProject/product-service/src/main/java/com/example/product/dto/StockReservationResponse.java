@@ -0,0 +1,17 @@
+package com.example.product.dto;
+
+import com.example.product.model.StockReservation;
+
+import java.time.Instant;
+import java.util.List;
+
+public record StockReservationResponse(Long id, StockReservation.Status status, Instant expiresAt,
+                                       List<StockReservationItem> items) {
+
+    public static StockReservationResponse from(StockReservation r) {
+        return new StockReservationResponse(r.getId(), r.getStatus(), r.getExpiresAt(),
+                r.getLines().stream()
+                        .map(l -> new StockReservationItem(l.getProductId(), l.getQuantity()))
+                        .toList());
+    }
+}
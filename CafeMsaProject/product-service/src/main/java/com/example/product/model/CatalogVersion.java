@@ -0,0 +1,30 @@
+package com.example.product.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * 상품 목록 전체 버전 (1행).
+ * 생성/수정/삭제마다 +1 → 목록 ETag. DB 에 두어 인스턴스가 여러 개여도 같은 값을 봄
+ */
+@Entity
+@Table(name = "catalog_version")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogVersion {
+
+    public static final long ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,45 @@
+package com.example.product.model;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 영양 정보 문자열 → 숫자 ("14g", "160mg", "120kcal", "카페인 없음")
+ * - 숫자가 없으면 null (모름: "-", "카페인 포함" 등) → 범위 필터에서 제외
+ * - "없음"/"디카페인" 은 0
+ * - 단위가 다르면 환산 (g ↔ mg)
+ * order-product-service 에 같은 규칙의 복사본 있음 (서비스 간 코드 공유 없음) — 규칙을 바꾸면 둘 다 고칠 것
+ */
+public final class NutritionParser {
+
+    private static final Pattern NUMBER_UNIT = Pattern.compile("(\\d+(?:\\.\\d+)?)\\s*(mg|g|kcal)?");
+
+    private NutritionParser() {}
+
+    public static Double grams(String text) {
+        return parse(text, "g");
+    }
+
+    public static Double milligrams(String text) {
+        return parse(text, "mg");
+    }
+
+    public static Double kcal(String text) {
+        return parse(text, "kcal");
+    }
+
+    private static Double parse(String text, String targetUnit) {
+        if (text == null || text.isBlank()) return null;
+        String s = text.toLowerCase(Locale.ROOT).replace(",", "");
+        if (s.contains("없음") || s.contains("디카페인") || s.contains("decaf")) return 0.0;
+
+        Matcher m = NUMBER_UNIT.matcher(s);
+        if (!m.find()) return null;
+        double value = Double.parseDouble(m.group(1));
+        String unit = m.group(2);
+        if ("g".equals(unit) && "mg".equals(targetUnit)) return value * 1000;
+        if ("mg".equals(unit) && "g".equals(targetUnit)) return value / 1000;
+        return value;
+    }
+}
@@ -2,14 +2,24 @@ package com.example.product.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products",
+        indexes = {
+                @Index(name = "idx_products_category_id", columnList = "category, id"), // 카테고리 필터 + 키셋
+                @Index(name = "idx_products_name", columnList = "name"),                // 가져오기 upsert (id 없는 행)
+                @Index(name = "idx_products_sugar", columnList = "sugar_g"),            // 범위 필터
+                @Index(name = "idx_products_caffeine", columnList = "caffeine_mg")
+        })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class Product {
 
     @Id
@@ -58,4 +68,46 @@ public class Product {
 
     @Column(name = "image_url", length = 500)
     private String imageUrl;
+
+    // 영양 정보 숫자값 (위 문자열에서 저장 시 자동 계산, 범위 필터용). 모르면 null
+    @Column(name = "calorie_kcal")
+    private Double calorieKcal;
+
+    @Column(name = "fat_g")
+    private Double fatG;
+
+    @Column(name = "sugar_g")
+    private Double sugarG;
+
+    @Column(name = "sodium_mg")
+    private Double sodiumMg;
+
+    @Column(name = "protein_g")
+    private Double proteinG;
+
+    @Column(name = "caffeine_mg")
+    private Double caffeineMg;
+
+    // 변경 추적 (ETag / Last-Modified). data.sql 처럼 컬럼 없이 넣은 행도 기본값으로 채워짐
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    /** 문자열 영양 정보 → 숫자 컬럼 (화면은 계속 문자열을 주고받음) */
+    @PrePersist
+    @PreUpdate
+    public void syncNutrition() {
+        this.calorieKcal = NutritionParser.kcal(calorie);
+        this.fatG = NutritionParser.grams(fat);
+        this.sugarG = NutritionParser.grams(sugar);
+        this.sodiumMg = NutritionParser.milligrams(sodium);
+        this.proteinG = NutritionParser.grams(protein);
+        this.caffeineMg = NutritionParser.milligrams(caffeine);
+    }
 }
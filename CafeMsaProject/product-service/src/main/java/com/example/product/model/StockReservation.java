@@ -0,0 +1,50 @@
+package com.example.product.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 재고 예약 (주문 전 임시 차감)
+ * - RESERVED: 재고 차감됨, expiresAt 까지 확정 안 되면 자동 해제
+ * - CONFIRMED: 주문 확정 (차감 유지)
+ * - RELEASED: 취소/만료 (재고 복구됨)
+ * - owner: 예약한 사용자 (JWT subject). 확정/해제는 본인 또는 사장만
+ */
+@Entity
+@Table(name = "stock_reservations",
+        indexes = @Index(name = "idx_stock_reservations_status_expires", columnList = "status, expires_at")) // 만료 스캔
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockReservation {
+
+    public enum Status { RESERVED, CONFIRMED, RELEASED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false, length = 100)
+    private String owner;
+
+    @Builder.Default
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "stock_reservation_lines", joinColumns = @JoinColumn(name = "reservation_id"))
+    private List<StockReservationLine> lines = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package com.example.product.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** 예약 항목 (상품별 수량) */
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationLine {
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+}
@@ -0,0 +1,19 @@
+package com.example.product.repository;
+
+import com.example.product.model.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Long> {
+
+    /** 목록 버전 +1 (한 문장, 동시 변경도 누락 없음) */
+    @Transactional
+    @Modifying
+    @Query("update CatalogVersion c set c.version = c.version + 1, c.updatedAt = :now where c.id = " + CatalogVersion.ID)
+    int bump(@Param("now") Instant now);
+}
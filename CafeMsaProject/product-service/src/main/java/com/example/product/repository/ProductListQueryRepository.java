@@ -0,0 +1,10 @@
+package com.example.product.repository;
+
+import com.example.product.dto.ProductListFilter;
+import com.example.product.dto.ProductListItem;
+import org.springframework.data.domain.Slice;
+
+/** 조건이 여러 개인 목록 조회 (있는 조건만 where 에 넣어 각 인덱스를 탈 수 있게) */
+public interface ProductListQueryRepository {
+    Slice<ProductListItem> findPage(ProductListFilter filter, int limit);
+}
@@ -0,0 +1,79 @@
+package com.example.product.repository;
+
+import com.example.product.dto.ProductListFilter;
+import com.example.product.dto.ProductListItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 키셋 페이지 + 필터
+ * - id > after, id 순 (OFFSET 없음). limit+1 건 읽어서 다음 페이지 유무 판단
+ * - category → idx_products_category_id, maxSugar/maxCaffeine → idx_products_sugar / idx_products_caffeine
+ * - keyword 는 역색인이 찾은 id (keywordIds) 를 잘라서 id in (...) → PK 조회. 일치가 드물어도 테이블을 훑지 않음
+ *   keywordIds 가 없을 때만 (검색어에 글자/숫자가 없음) lower(name) like '%..%'
+ * - 숫자 값을 모르는(null) 상품은 범위 조건이 있으면 제외됨
+ */
+public class ProductListQueryRepositoryImpl implements ProductListQueryRepository {
+
+    // id in (...) 한 번에 넣는 개수
+    private static final int ID_CHUNK = 500;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public Slice<ProductListItem> findPage(ProductListFilter f, int limit) {
+        StringBuilder jpql = new StringBuilder(ProductRepository.LIST_ITEM).append("where p.id > :after");
+        Map<String, Object> params = new HashMap<>();
+        params.put("after", f.after());
+
+        if (f.category() != null) {
+            jpql.append(" and p.category = :category");
+            params.put("category", f.category());
+        }
+        if (f.keyword() != null && f.keywordIds() == null) {
+            jpql.append(" and lower(p.name) like lower(concat('%', :keyword, '%'))");
+            params.put("keyword", f.keyword());
+        }
+        if (f.maxSugar() != null) {
+            jpql.append(" and p.sugarG <= :maxSugar");
+            params.put("maxSugar", f.maxSugar());
+        }
+        if (f.maxCaffeine() != null) {
+            jpql.append(" and p.caffeineMg <= :maxCaffeine");
+            params.put("maxCaffeine", f.maxCaffeine());
+        }
+
+        List<ProductListItem> rows;
+        if (f.keywordIds() == null) {
+            rows = fetch(jpql + " order by p.id asc", params, limit + 1);
+        } else {
+            // 후보 id 가 오름차순이므로 앞 조각부터 채우면 id 순서 그대로
+            List<Long> ids = f.keywordIds().stream().filter(id -> id > f.after()).toList();
+            String chunked = jpql + " and p.id in :ids order by p.id asc";
+            rows = new ArrayList<>();
+            for (int from = 0; from < ids.size() && rows.size() <= limit; from += ID_CHUNK) {
+                params.put("ids", ids.subList(from, Math.min(from + ID_CHUNK, ids.size())));
+                rows.addAll(fetch(chunked, params, limit + 1 - rows.size()));
+            }
+        }
+
+        boolean hasNext = rows.size() > limit;
+        return new SliceImpl<>(hasNext ? rows.subList(0, limit) : rows, PageRequest.of(0, limit), hasNext);
+    }
+
+    private List<ProductListItem> fetch(String jpql, Map<String, Object> params, int max) {
+        TypedQuery<ProductListItem> query = em.createQuery(jpql, ProductListItem.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(max).getResultList();
+    }
+}
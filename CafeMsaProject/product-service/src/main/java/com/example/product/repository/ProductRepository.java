@@ -1,7 +1,42 @@
 package com.example.product.repository;
 
+import com.example.product.dto.ProductListItem;
 import com.example.product.model.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+import java.util.List;
+
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductListQueryRepository {
+
+    String LIST_ITEM = "select new com.example.product.dto.ProductListItem(" +
+            "p.id, p.name, p.price, p.category, p.stock, p.imageUrl) from Product p ";
+
+    @Query(LIST_ITEM + "order by p.id asc")
+    List<ProductListItem> findAllListItems();
+
+    /**
+     * 조건부 재고 차감 (재고가 충분할 때만, 1 = 성공 / 0 = 부족 또는 없음)
+     * 읽고-쓰기 없이 한 문장이라 동시 차감도 누락/초과 없음. version 도 올려서
+     * 그 사이에 읽어 둔 상품을 수정(PUT)하면 낙관적 락 충돌 → 차감을 덮어쓰지 않음
+     */
+    @Transactional
+    @Modifying
+    @Query("update Product p set p.stock = p.stock - :qty, p.version = p.version + 1, p.updatedAt = instant " +
+            "where p.id = :id and p.stock >= :qty")
+    int decrementStock(@Param("id") Long id, @Param("qty") int qty);
+
+    /** 현재 행 재고 (차감/복구 직후 같은 트랜잭션에서 읽으면 그 결과). 없으면 null */
+    @Query("select p.stock from Product p where p.id = :id")
+    Integer findStockById(@Param("id") Long id);
+
+    /** 재고 복구 (예약 해제) */
+    @Transactional
+    @Modifying
+    @Query("update Product p set p.stock = p.stock + :qty, p.version = p.version + 1, p.updatedAt = instant " +
+            "where p.id = :id")
+    int incrementStock(@Param("id") Long id, @Param("qty") int qty);
 }
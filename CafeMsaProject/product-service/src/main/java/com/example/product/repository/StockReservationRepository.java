@@ -0,0 +1,35 @@
+package com.example.product.repository;
+
+import com.example.product.model.StockReservation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    /** 상태 전이 (from 일 때만). 1 = 이긴 쪽 → 재고 복구/확정은 이긴 쪽만 */
+    @Modifying
+    @Query("update StockReservation r set r.status = :to where r.id = :id and r.status = :from")
+    int transition(@Param("id") Long id,
+                   @Param("from") StockReservation.Status from,
+                   @Param("to") StockReservation.Status to);
+
+    /** 확정 (만료 전 RESERVED 만) */
+    @Modifying
+    @Query("update StockReservation r set r.status = :to where r.id = :id and r.status = :from and r.expiresAt > :now")
+    int transitionBefore(@Param("id") Long id,
+                         @Param("from") StockReservation.Status from,
+                         @Param("to") StockReservation.Status to,
+                         @Param("now") Instant now);
+
+    /** 만료된 예약 id (오래된 순) */
+    @Query("select r.id from StockReservation r where r.status = :status and r.expiresAt <= :now order by r.expiresAt asc")
+    List<Long> findExpiredIds(@Param("status") StockReservation.Status status,
+                              @Param("now") Instant now,
+                              Pageable pageable);
+}
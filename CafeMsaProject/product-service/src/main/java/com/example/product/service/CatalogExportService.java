@@ -0,0 +1,104 @@
+package com.example.product.service;
+
+import com.example.product.dto.ProductTransferRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 내보내기 (NDJSON / CSV)
+ * findAll() 로 전부 올리지 않고 커서(fetchSize 단위)에서 읽는 대로 바로 씀 → 상품 수와 무관하게 메모리 일정
+ * 형식은 가져오기와 같음. id 를 포함하므로 다른 DB 로 옮길 때는 가져오기에서 ignoreIds 사용
+ */
+@Service
+public class CatalogExportService {
+
+    private static final String SELECT =
+            "SELECT id, name, price, stock, category, size, calorie, description, allergy, " +
+            "fat, sugar, sodium, protein, caffeine, image_url FROM products ORDER BY id";
+
+    private final JdbcTemplate cursorJdbc;
+    private final ObjectWriter rowWriter;
+
+    public CatalogExportService(DataSource dataSource,
+                                ObjectMapper objectMapper,
+                                @Value("${product.export.fetch-size:500}") int fetchSize) {
+        this.cursorJdbc = new JdbcTemplate(dataSource);
+        this.cursorJdbc.setFetchSize(fetchSize);
+        this.rowWriter = objectMapper.writerFor(ProductTransferRow.class);
+    }
+
+    public void export(CatalogImportService.Format format, OutputStream out) throws IOException {
+        Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == CatalogImportService.Format.CSV) {
+            w.write(String.join(",", ProductTransferRow.COLUMNS));
+            w.write('\n');
+        }
+        try {
+            cursorJdbc.query(SELECT, rs -> {
+                ProductTransferRow row = toRow(rs);
+                try {
+                    if (format == CatalogImportService.Format.CSV) {
+                        w.write(csvLine(row.values()));
+                    } else {
+                        w.write(rowWriter.writeValueAsString(row));
+                    }
+                    w.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // 클라이언트 연결 끊김 등 → 커서 닫고 중단
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        w.flush();
+    }
+
+    private static ProductTransferRow toRow(ResultSet rs) throws SQLException {
+        return new ProductTransferRow(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getObject("price", Double.class),
+                rs.getObject("stock", Integer.class),
+                rs.getString("category"),
+                rs.getString("size"),
+                rs.getString("calorie"),
+                rs.getString("description"),
+                rs.getString("allergy"),
+                rs.getString("fat"),
+                rs.getString("sugar"),
+                rs.getString("sodium"),
+                rs.getString("protein"),
+                rs.getString("caffeine"),
+                rs.getString("image_url"));
+    }
+
+    /** RFC 4180: 쉼표/따옴표/줄바꿈이 있으면 따옴표로 감싸고 " → "" (null 은 빈 칸) */
+    private static String csvLine(List<Object> values) {
+        return values.stream()
+                .map(v -> {
+                    if (v == null) return "";
+                    String s = v.toString();
+                    if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) {
+                        return s;
+                    }
+                    return '"' + s.replace("\"", "\"\"") + '"';
+                })
+                .collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,371 @@
+package com.example.product.service;
+
+import com.example.product.dto.ImportBatchReport;
+import com.example.product.dto.ImportError;
+import com.example.product.dto.ImportSummary;
+import com.example.product.dto.ProductTransferRow;
+import com.example.product.model.NutritionParser;
+import com.example.product.repository.CatalogVersionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 대량 가져오기 (NDJSON / CSV)
+ * - 한 행씩 파싱 → batchSize 행마다 JDBC 배치로 반영 (메모리에는 배치 1개만)
+ * - 배치마다 별도 트랜잭션 + 목록 버전 +1, 커밋되면 바로 onBatch 로 진행 상황 전달
+ * - 행 오류(형식/검증/없는 id)는 그 행만 빠지고, 배치 SQL 이 실패하면 그 배치만 롤백 후 계속
+ * - upsert 기준: id 가 있으면 id (없는 id 는 오류, id 는 서버가 발급), 없으면 이름 (없으면 새로 추가)
+ *   이름 기준일 때 같은 이름 상품이 DB 에 여럿이면 어느 것인지 모르므로 그 행은 오류
+ * - 배치 안에서 같은 id/이름이 또 나오면 뒤의 행만 반영하고 앞의 행은 superseded 로 따로 셈
+ * - ignoreIds: 모든 행을 새 상품으로 추가 (다른 DB 에서 내보낸 파일 → 빈 DB. 이름이 같은 행도 그대로 따로 들어감)
+ * - 캐시/검색 색인/카테고리 집계는 끝난 뒤 한 번에 갱신
+ */
+@Slf4j
+@Service
+public class CatalogImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final int MAX_ERRORS_PER_BATCH = 20;
+    private static final int MAX_FIELD_LENGTH = 10_000;
+
+    // Product 컬럼 길이 (넘으면 배치 전체가 실패하므로 행 단위로 먼저 거름)
+    private static final Map<String, Integer> MAX_LENGTHS = Map.ofEntries(
+            Map.entry("name", 100), Map.entry("category", 50), Map.entry("size", 50),
+            Map.entry("calorie", 50), Map.entry("description", 500), Map.entry("allergy", 100),
+            Map.entry("fat", 50), Map.entry("sugar", 50), Map.entry("sodium", 50),
+            Map.entry("protein", 50), Map.entry("caffeine", 50), Map.entry("imageUrl", 500));
+
+    private static final String SET_COLUMNS =
+            "name = ?, price = ?, stock = ?, category = ?, size = ?, calorie = ?, description = ?, allergy = ?, " +
+            "fat = ?, sugar = ?, sodium = ?, protein = ?, caffeine = ?, image_url = ?, " +
+            "calorie_kcal = ?, fat_g = ?, sugar_g = ?, sodium_mg = ?, protein_g = ?, caffeine_mg = ?, " +
+            "version = version + 1, updated_at = CURRENT_TIMESTAMP ";
+    private static final String UPDATE_BY_ID = "UPDATE products SET " + SET_COLUMNS + "WHERE id = ?";
+    private static final String UPDATE_BY_NAME = "UPDATE products SET " + SET_COLUMNS + "WHERE name = ?";
+    private static final String INSERT =
+            "INSERT INTO products (name, price, stock, category, size, calorie, description, allergy, " +
+            "fat, sugar, sodium, protein, caffeine, image_url, " +
+            "calorie_kcal, fat_g, sugar_g, sodium_mg, protein_g, caffeine_mg, version, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, CURRENT_TIMESTAMP)";
+
+    /** 파싱된 행 (row 또는 error 중 하나) */
+    private record Parsed(long line, ProductTransferRow row, String error) {}
+
+    private interface RowSource {
+        /** 다음 행 (끝이면 null). 파일 자체가 깨졌으면 IllegalArgumentException */
+        Parsed next() throws IOException;
+    }
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final ProductCatalogCache catalogCache;
+    private final HotStockCounters hotStock;
+    private final ObjectReader rowReader;
+    private final int batchSize;
+
+    public CatalogImportService(JdbcTemplate jdbc,
+                                TransactionTemplate tx,
+                                CatalogVersionRepository catalogVersionRepository,
+                                ProductCatalogCache catalogCache,
+                                HotStockCounters hotStock,
+                                ObjectMapper objectMapper,
+                                @Value("${product.import.batch-size:500}") int batchSize) {
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.catalogCache = catalogCache;
+        this.hotStock = hotStock;
+        this.rowReader = objectMapper.readerFor(ProductTransferRow.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.batchSize = batchSize;
+    }
+
+    public ImportSummary importCatalog(Reader in, Format format, boolean ignoreIds,
+                                       Consumer<ImportBatchReport> onBatch) throws IOException {
+        long started = System.nanoTime();
+        BufferedReader reader = new BufferedReader(in);
+
+        int batches = 0, inserted = 0, updated = 0, superseded = 0, failed = 0;
+        long rows = 0;
+        String error = null;
+
+        List<Parsed> batch = new ArrayList<>(batchSize);
+        try {
+            RowSource source = (format == Format.CSV) ? csv(reader) : ndjson(reader);
+            Parsed p;
+            while ((p = source.next()) != null) {
+                batch.add(p);
+                rows++;
+                if (batch.size() == batchSize) {
+                    ImportBatchReport r = flush(++batches, batch, ignoreIds);
+                    inserted += r.inserted();
+                    updated += r.updated();
+                    superseded += r.superseded();
+                    failed += r.failed();
+                    onBatch.accept(r);
+                    batch.clear();
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            error = e.getMessage(); // 파일 형식 문제 → 여기까지 읽은 것만 반영하고 멈춤
+        } finally {
+            if (!batch.isEmpty()) {
+                ImportBatchReport r = flush(++batches, batch, ignoreIds);
+                inserted += r.inserted();
+                updated += r.updated();
+                superseded += r.superseded();
+                failed += r.failed();
+                onBatch.accept(r);
+            }
+            if (inserted + updated > 0) {
+                catalogCache.evictAll();
+            }
+        }
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("상품 가져오기 완료: {}행 (추가 {}, 수정 {}, 덮임 {}, 실패 {}), {}배치, {}ms{}",
+                rows, inserted, updated, superseded, failed, batches, elapsedMs, error == null ? "" : " - 중단: " + error);
+        return new ImportSummary(batches, rows, inserted, updated, superseded, failed, elapsedMs, error);
+    }
+
+    /** 배치 1개 반영 (한 트랜잭션) */
+    private ImportBatchReport flush(int batchNo, List<Parsed> batch, boolean ignoreIds) {
+        long firstLine = batch.get(0).line();
+        long lastLine = batch.get(batch.size() - 1).line();
+
+        List<ImportError> errors = new ArrayList<>();
+        // 같은 id/이름이 배치 안에 또 나오면 뒤의 행만 (순서대로 덮어쓴 결과와 같음)
+        Map<Long, Parsed> byIdMap = new LinkedHashMap<>();
+        Map<String, Parsed> byName = new LinkedHashMap<>();
+        List<Object[]> inserts = new ArrayList<>();
+        int superseded = 0;
+        for (Parsed p : batch) {
+            String invalid = (p.error() != null) ? p.error() : validate(p.row());
+            if (invalid != null) {
+                errors.add(new ImportError(p.line(), invalid));
+            } else if (ignoreIds) {
+                inserts.add(params(p.row()));
+            } else if (p.row().id() != null) {
+                if (byIdMap.put(p.row().id(), p) != null) superseded++;
+            } else if (byName.put(p.row().name(), p) != null) {
+                superseded++;
+            }
+        }
+        List<Parsed> byId = new ArrayList<>(byIdMap.values());
+        // 재고를 덮어쓸 인기 상품 → 메모리 몫을 비우고 같은 잠금 안에서 반영
+        List<Long> hot = hotTargets(byIdMap.keySet(), byName.keySet());
+
+        int[] counts;
+        try {
+            counts = hotStock.overwrite(hot, () -> tx.execute(status -> {
+                int ins = 0, upd = 0;
+                int[] r = jdbc.batchUpdate(UPDATE_BY_ID, byId.stream().map(p -> params(p.row(), p.row().id())).toList());
+                for (int i = 0; i < r.length; i++) {
+                    if (r[i] == 0) {
+                        errors.add(new ImportError(byId.get(i).line(), "없는 상품 id: " + byId.get(i).row().id()));
+                    } else {
+                        upd++;
+                    }
+                }
+
+                // 이름이 같은 상품이 여럿이면 어느 것을 고칠지 모름 → 그 행은 오류 (id 로 지정해야 함)
+                Set<String> ambiguous = duplicateNames(byName.keySet());
+                List<Parsed> named = new ArrayList<>();
+                for (Parsed p : byName.values()) {
+                    if (ambiguous.contains(p.row().name())) {
+                        errors.add(new ImportError(p.line(), "같은 이름의 상품이 여러 개입니다 (id로 지정하세요): " + p.row().name()));
+                    } else {
+                        named.add(p);
+                    }
+                }
+                r = jdbc.batchUpdate(UPDATE_BY_NAME, named.stream().map(p -> params(p.row(), p.row().name())).toList());
+                for (int i = 0; i < r.length; i++) {
+                    if (r[i] == 0) {
+                        inserts.add(params(named.get(i).row()));
+                    } else {
+                        upd++;
+                    }
+                }
+                jdbc.batchUpdate(INSERT, inserts);
+                ins += inserts.size();
+
+                if (ins + upd > 0) {
+                    catalogVersionRepository.bump(Instant.now());
+                }
+                return new int[]{ins, upd};
+            }));
+        } catch (DataAccessException e) {
+            log.warn("상품 가져오기 배치 {} 실패 ({}~{}줄): {}", batchNo, firstLine, lastLine, e.getMessage());
+            errors.add(new ImportError(firstLine, "배치 전체 실패 (" + firstLine + "~" + lastLine + "줄): "
+                    + e.getMostSpecificCause().getMessage()));
+            return new ImportBatchReport(batchNo, firstLine, lastLine, 0, 0, 0, batch.size(), cap(errors));
+        }
+
+        if (!hot.isEmpty()) {
+            catalogCache.stockReset(hot);
+        }
+        int failed = errors.size();
+        errors.sort((a, b) -> Long.compare(a.line(), b.line()));
+        return new ImportBatchReport(batchNo, firstLine, lastLine, counts[0], counts[1], superseded, failed, cap(errors));
+    }
+
+    /** 이 배치가 재고를 덮어쓸 수 있는 인기 상품 id (이름 지정 행은 id 를 찾아서) */
+    private List<Long> hotTargets(Set<Long> ids, Set<String> names) {
+        if (!hotStock.hasHotIds()) return List.of();
+        List<Long> targets = new ArrayList<>(ids);
+        if (!names.isEmpty()) {
+            String in = names.stream().map(n -> "?").collect(Collectors.joining(", "));
+            targets.addAll(jdbc.queryForList("SELECT id FROM products WHERE name IN (" + in + ")",
+                    Long.class, names.toArray()));
+        }
+        return hotStock.hotAmong(targets);
+    }
+
+    /** DB 에 2개 이상 있는 이름 (이름 기준 upsert 대상 중) */
+    private Set<String> duplicateNames(Set<String> names) {
+        if (names.isEmpty()) return Set.of();
+        String in = names.stream().map(n -> "?").collect(Collectors.joining(", "));
+        return Set.copyOf(jdbc.queryForList(
+                "SELECT name FROM products WHERE name IN (" + in + ") GROUP BY name HAVING COUNT(*) > 1",
+                String.class, names.toArray()));
+    }
+
+    private static List<ImportError> cap(List<ImportError> errors) {
+        return errors.size() > MAX_ERRORS_PER_BATCH ? List.copyOf(errors.subList(0, MAX_ERRORS_PER_BATCH)) : errors;
+    }
+
+    private static String validate(ProductTransferRow r) {
+        if (r.name() == null || r.name().isBlank()) return "name이 필요합니다.";
+        if (r.price() == null) return "price가 필요합니다.";
+        if (r.price() < 0) return "price는 0 이상이어야 합니다.";
+        if (r.price() != Math.rint(r.price())) return "price는 원 단위 정수여야 합니다.";
+        if (r.stock() != null && r.stock() < 0) return "stock은 0 이상이어야 합니다.";
+        Map<String, String> text = new HashMap<>();
+        text.put("name", r.name());
+        text.put("category", r.category());
+        text.put("size", r.size());
+        text.put("calorie", r.calorie());
+        text.put("description", r.description());
+        text.put("allergy", r.allergy());
+        text.put("fat", r.fat());
+        text.put("sugar", r.sugar());
+        text.put("sodium", r.sodium());
+        text.put("protein", r.protein());
+        text.put("caffeine", r.caffeine());
+        text.put("imageUrl", r.imageUrl());
+        for (Map.Entry<String, String> e : text.entrySet()) {
+            if (e.getValue() != null && e.getValue().length() > MAX_LENGTHS.get(e.getKey())) {
+                return e.getKey() + "는 최대 " + MAX_LENGTHS.get(e.getKey()) + "자입니다.";
+            }
+        }
+        return null;
+    }
+
+    /** SET/VALUES 순서 값 (+ WHERE 값) */
+    private static Object[] params(ProductTransferRow r, Object... where) {
+        Object[] values = {
+                r.name(), r.price(), r.stock(), r.category(), r.size(), r.calorie(), r.description(), r.allergy(),
+                r.fat(), r.sugar(), r.sodium(), r.protein(), r.caffeine(), r.imageUrl(),
+                NutritionParser.kcal(r.calorie()), NutritionParser.grams(r.fat()), NutritionParser.grams(r.sugar()),
+                NutritionParser.milligrams(r.sodium()), NutritionParser.grams(r.protein()),
+                NutritionParser.milligrams(r.caffeine())};
+        Object[] all = new Object[values.length + where.length];
+        System.arraycopy(values, 0, all, 0, values.length);
+        System.arraycopy(where, 0, all, values.length, where.length);
+        return all;
+    }
+
+    /* ---- 입력 형식 ---- */
+
+    /** NDJSON: 한 줄 = 상품 하나 (빈 줄 무시) */
+    private RowSource ndjson(BufferedReader reader) {
+        long[] line = {0};
+        return () -> {
+            String s;
+            while ((s = reader.readLine()) != null) {
+                line[0]++;
+                if (s.isBlank()) continue;
+                try {
+                    return new Parsed(line[0], rowReader.readValue(s), null);
+                } catch (JsonProcessingException e) {
+                    return new Parsed(line[0], null, "JSON 형식 오류: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        };
+    }
+
+    /** CSV: 첫 레코드 = 헤더 (ProductTransferRow.COLUMNS, 대소문자/밑줄 무시. 모르는 열은 무시) */
+    private RowSource csv(BufferedReader reader) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader, MAX_FIELD_LENGTH);
+        List<String> header = csv.next();
+        if (header == null) {
+            return () -> null;
+        }
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            index.put(normalize(header.get(i)), i);
+        }
+        if (!index.containsKey("name") || !index.containsKey("price")) {
+            throw new IllegalArgumentException("CSV 헤더에 name, price 열이 필요합니다.");
+        }
+
+        return () -> {
+            List<String> rec;
+            while ((rec = csv.next()) != null) {
+                if (rec.size() == 1 && rec.get(0).isBlank()) continue; // 빈 줄
+                try {
+                    return new Parsed(csv.recordLine(), toRow(rec, index), null);
+                } catch (NumberFormatException e) {
+                    return new Parsed(csv.recordLine(), null, "숫자 형식 오류: " + e.getMessage());
+                }
+            }
+            return null;
+        };
+    }
+
+    private static ProductTransferRow toRow(List<String> rec, Map<String, Integer> index) {
+        Map<String, String> v = new HashMap<>();
+        for (String col : ProductTransferRow.COLUMNS) {
+            Integer i = index.get(normalize(col));
+            String s = (i == null || i >= rec.size()) ? null : rec.get(i);
+            v.put(col, (s == null || s.isEmpty()) ? null : s);
+        }
+        return new ProductTransferRow(
+                v.get("id") == null ? null : Long.valueOf(v.get("id").trim()),
+                v.get("name"),
+                v.get("price") == null ? null : Double.valueOf(v.get("price").trim()),
+                v.get("stock") == null ? null : Integer.valueOf(v.get("stock").trim()),
+                v.get("category"), v.get("size"), v.get("calorie"), v.get("description"), v.get("allergy"),
+                v.get("fat"), v.get("sugar"), v.get("sodium"), v.get("protein"), v.get("caffeine"),
+                v.get("imageUrl"));
+    }
+
+    private static String normalize(String column) {
+        return column.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.product.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV 레코드 단위 읽기 (RFC 4180: 따옴표 안의 쉼표/줄바꿈, "" 이스케이프)
+ * 한 번에 한 레코드만 메모리에 둠. 필드가 maxFieldLength 를 넘으면 (닫히지 않은 따옴표 등) IllegalArgumentException
+ */
+class CsvRecordReader {
+
+    private final Reader in;
+    private final int maxFieldLength;
+    private long line = 1;
+    private long recordLine;
+
+    CsvRecordReader(Reader in, int maxFieldLength) {
+        this.in = in;
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    /** 방금 읽은 레코드의 시작 줄 */
+    long recordLine() {
+        return recordLine;
+    }
+
+    /** 다음 레코드 (끝이면 null) */
+    List<String> next() throws IOException {
+        int c = in.read();
+        if (c == -1) return null;
+        recordLine = line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        boolean inQuotes = false;
+        while (true) {
+            if (c == -1) {
+                if (inQuotes) {
+                    throw new IllegalArgumentException(recordLine + "번째 줄: 닫히지 않은 따옴표");
+                }
+                fields.add(sb.toString());
+                return fields;
+            }
+            if (inQuotes) {
+                if (c == '"') {
+                    int n = in.read();
+                    if (n != '"') { // 닫는 따옴표
+                        inQuotes = false;
+                        c = n;
+                        continue;
+                    }
+                }
+                if (c == '\n') line++;
+                append(sb, c);
+            } else if (c == '"' && sb.length() == 0) {
+                inQuotes = true;
+            } else if (c == ',') {
+                fields.add(sb.toString());
+                sb.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                fields.add(sb.toString());
+                return fields;
+            } else if (c != '\r') {
+                append(sb, c);
+            }
+            c = in.read();
+        }
+    }
+
+    private void append(StringBuilder sb, int c) {
+        if (sb.length() >= maxFieldLength) {
+            throw new IllegalArgumentException(recordLine + "번째 줄: 필드가 너무 깁니다 (최대 " + maxFieldLength + "자)");
+        }
+        sb.append((char) c);
+    }
+}
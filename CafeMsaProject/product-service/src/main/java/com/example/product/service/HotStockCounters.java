@@ -0,0 +1,225 @@
+package com.example.product.service;
+
+import com.example.product.dto.ProductListItem;
+import com.example.product.model.Product;
+import com.example.product.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 인기 상품(hot SKU) 재고 카운터 (인스턴스 메모리)
+ * - 주문이 몰리는 상품은 매 예약마다 같은 행을 잠그지 않도록 DB 에서 chunk 개씩 미리 떼어와 메모리에서 차감
+ * - 상품마다 카운터를 stripes 칸으로 나눠 칸별 CAS → 스레드끼리도 한 값에 몰리지 않음
+ * - 칸이 모자라면 (상품별 잠금) 모든 칸을 모아 보고, 그래도 모자라면 DB 에서 조건부 차감으로 충전
+ * - DB 재고 = 아직 어느 인스턴스도 떼어가지 않은 수량. 종료 시 남은 몫은 DB 로 돌려줌
+ *   (비정상 종료면 그 몫만큼 적게 팔릴 뿐 초과 판매는 없음)
+ * - 화면에 보이는 재고는 DB 재고 + 아직 안 쓴 몫 (충전 때마다 chunk 만큼 뚝 떨어져 보이지 않게)
+ * - 재고를 절대값으로 쓸 때 (상품 수정/가져오기) 는 overwrite() 로 메모리 몫을 비운 뒤 씀 → 쓴 값이 곧 보이는 재고
+ */
+@Slf4j
+@Component
+public class HotStockCounters {
+
+    private final ProductRepository productRepository;
+    private final Set<Long> hotIds;
+    private final int stripes;
+    private final int chunk;
+
+    private final Map<Long, Striped> counters = new ConcurrentHashMap<>();
+
+    public HotStockCounters(ProductRepository productRepository,
+                            @Value("${product.stock.hot-ids:}") Set<Long> hotIds,
+                            @Value("${product.stock.stripes:8}") int stripes,
+                            @Value("${product.stock.hot-chunk:20}") int chunk) {
+        this.productRepository = productRepository;
+        this.hotIds = Set.copyOf(hotIds);
+        this.stripes = stripes;
+        this.chunk = chunk;
+    }
+
+    public boolean isHot(Long productId) {
+        return hotIds.contains(productId);
+    }
+
+    public boolean hasHotIds() {
+        return !hotIds.isEmpty();
+    }
+
+    /** 주어진 id 중 인기 상품만 (id 순 = 잠금 순서) */
+    public List<Long> hotAmong(Collection<Long> productIds) {
+        return productIds.stream().filter(this::isHot).distinct().sorted().toList();
+    }
+
+    /**
+     * 재고를 절대값으로 쓰는 작업. 대상 인기 상품의 잠금을 id 순으로 모두 잡고 메모리 몫을 비운 뒤 write 실행
+     * - 잠금 중에는 take() 의 DB 충전이 끼지 않으므로 쓴 값 위에 옛 몫이 더해지지 않음
+     * - 비운 몫은 버림 (새 재고가 기준). write 가 실패하면 되돌려 놓음
+     * - 다른 인스턴스의 몫은 호출 쪽에서 브로드캐스트로 비움 (discard)
+     */
+    public <T> T overwrite(Collection<Long> productIds, Supplier<T> write) {
+        List<Long> hot = hotAmong(productIds);
+        if (hot.isEmpty()) return write.get();
+        return overwrite(hot, 0, write);
+    }
+
+    private <T> T overwrite(List<Long> hot, int i, Supplier<T> write) {
+        if (i == hot.size()) return write.get();
+        Long productId = hot.get(i);
+        Striped s = counters.computeIfAbsent(productId, id -> new Striped(stripes));
+        synchronized (s) {
+            int drained = s.drain();
+            try {
+                return overwrite(hot, i + 1, write);
+            } catch (RuntimeException e) {
+                s.add(0, drained);
+                throw e;
+            }
+        }
+    }
+
+    /** 다른 인스턴스가 재고를 절대값으로 씀 → 이 인스턴스 몫은 버림 (새 재고가 기준, 초과 판매 방지) */
+    public void discard(Long productId) {
+        Striped s = counters.get(productId);
+        if (s == null) return;
+        int dropped;
+        synchronized (s) {
+            dropped = s.drain();
+        }
+        if (dropped > 0) {
+            log.info("인기 상품 재고 재설정으로 메모리 몫 폐기: productId={}, {}개", productId, dropped);
+        }
+    }
+
+    /** 차감 (성공 true). 임의의 칸 → 전체 칸 → DB 충전 순. DB 충전은 호출 트랜잭션과 별개로 바로 커밋됨 */
+    public boolean take(Long productId, int qty) {
+        Striped s = counters.computeIfAbsent(productId, id -> new Striped(stripes));
+        int home = ThreadLocalRandom.current().nextInt(stripes);
+        if (s.tryTake(home, qty)) {
+            return true;
+        }
+        synchronized (s) { // 충전은 상품별로 한 번에 하나
+            int pooled = s.drain();
+            if (pooled >= qty) {
+                s.add(home, pooled - qty);
+                return true;
+            }
+            int need = qty - pooled;
+            int refill = Math.max(chunk, need);
+            if (productRepository.decrementStock(productId, refill) == 1) {
+                s.add(home, refill - need);
+                return true;
+            }
+            if (refill > need && productRepository.decrementStock(productId, need) == 1) {
+                return true;
+            }
+            s.add(home, pooled);
+            return false;
+        }
+    }
+
+    /** 이 인스턴스가 떼어 와서 아직 안 쓴 몫 (인기 상품이 아니면 0) */
+    public int allowance(Long productId) {
+        Striped s = counters.get(productId);
+        return (s == null) ? 0 : s.sum();
+    }
+
+    /** 화면용 재고로 바꾼 사본 (인기 상품이 아니면 그대로 - 캐시된 엔티티는 건드리지 않음) */
+    public Product withAllowance(Product p) {
+        if (p == null || !isHot(p.getId())) return p;
+        return p.toBuilder().stock(visibleStock(p.getId(), p.getStock())).build();
+    }
+
+    public ProductListItem withAllowance(ProductListItem i) {
+        if (!isHot(i.id())) return i;
+        return new ProductListItem(i.id(), i.name(), i.price(), i.category(),
+                visibleStock(i.id(), i.stock()), i.imageUrl());
+    }
+
+    /** 인기 상품이 하나도 없으면 같은 리스트를 그대로 돌려줌 */
+    public List<ProductListItem> withAllowance(List<ProductListItem> items) {
+        if (hotIds.isEmpty() || items.stream().noneMatch(i -> isHot(i.id()))) return items;
+        return items.stream().map(this::withAllowance).toList();
+    }
+
+    private Integer visibleStock(Long productId, Integer rowStock) {
+        return (rowStock == null ? 0 : rowStock) + allowance(productId);
+    }
+
+    /** 예약 해제분은 메모리 칸으로 (다음 예약이 DB 없이 씀) */
+    public void release(Long productId, int qty) {
+        counters.computeIfAbsent(productId, id -> new Striped(stripes))
+                .add(ThreadLocalRandom.current().nextInt(stripes), qty);
+    }
+
+    @PreDestroy
+    public void returnAll() {
+        counters.forEach((productId, s) -> {
+            int left;
+            synchronized (s) {
+                left = s.drain();
+            }
+            if (left > 0) {
+                try {
+                    productRepository.incrementStock(productId, left);
+                    log.info("인기 상품 재고 반환: productId={}, {}개", productId, left);
+                } catch (DataAccessException e) {
+                    log.warn("인기 상품 재고 반환 실패: productId={}, {}개 ({})", productId, left, e.getMessage());
+                }
+            }
+        });
+    }
+
+    /** 칸별 카운터 (칸마다 별도 객체 → 같은 캐시 라인 경합 줄임) */
+    private static final class Striped {
+        private final AtomicInteger[] cells;
+
+        Striped(int n) {
+            cells = new AtomicInteger[n];
+            for (int i = 0; i < n; i++) {
+                cells[i] = new AtomicInteger();
+            }
+        }
+
+        boolean tryTake(int i, int qty) {
+            AtomicInteger c = cells[i];
+            int cur;
+            do {
+                cur = c.get();
+                if (cur < qty) return false;
+            } while (!c.compareAndSet(cur, cur - qty));
+            return true;
+        }
+
+        void add(int i, int qty) {
+            if (qty > 0) cells[i].addAndGet(qty);
+        }
+
+        int sum() {
+            int sum = 0;
+            for (AtomicInteger c : cells) {
+                sum += c.get();
+            }
+            return sum;
+        }
+
+        int drain() {
+            int sum = 0;
+            for (AtomicInteger c : cells) {
+                sum += c.getAndSet(0);
+            }
+            return sum;
+        }
+    }
+}
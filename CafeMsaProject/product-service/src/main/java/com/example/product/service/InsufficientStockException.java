@@ -0,0 +1,15 @@
+package com.example.product.service;
+
+import lombok.Getter;
+
+/** 재고 부족으로 예약 실패 (→ 409) */
+@Getter
+public class InsufficientStockException extends IllegalStateException {
+
+    private final Long productId;
+
+    public InsufficientStockException(Long productId) {
+        super("재고가 부족합니다. productId=" + productId);
+        this.productId = productId;
+    }
+}
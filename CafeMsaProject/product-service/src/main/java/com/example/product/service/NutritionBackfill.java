@@ -0,0 +1,49 @@
+package com.example.product.service;
+
+import com.example.product.model.NutritionParser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 숫자 영양 컬럼 채우기 (1회성 마이그레이션)
+ * 숫자 컬럼이 모두 비어 있고 문자열이 있는 행만 파싱해서 배치 UPDATE → 이미 채워진 행은 다시 건드리지 않음
+ * (엔티티 저장이 아니라서 version/updated_at 은 그대로)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NutritionBackfill implements ApplicationRunner {
+
+    private final JdbcTemplate jdbc;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<Object[]> rows = new ArrayList<>();
+        jdbc.query("SELECT id, calorie, fat, sugar, sodium, protein, caffeine FROM products " +
+                        "WHERE calorie_kcal IS NULL AND fat_g IS NULL AND sugar_g IS NULL " +
+                        "AND sodium_mg IS NULL AND protein_g IS NULL AND caffeine_mg IS NULL " +
+                        "AND COALESCE(calorie, fat, sugar, sodium, protein, caffeine) IS NOT NULL",
+                rs -> {
+                    rows.add(new Object[]{
+                            NutritionParser.kcal(rs.getString("calorie")),
+                            NutritionParser.grams(rs.getString("fat")),
+                            NutritionParser.grams(rs.getString("sugar")),
+                            NutritionParser.milligrams(rs.getString("sodium")),
+                            NutritionParser.grams(rs.getString("protein")),
+                            NutritionParser.milligrams(rs.getString("caffeine")),
+                            rs.getLong("id")});
+                });
+        if (rows.isEmpty()) return;
+
+        jdbc.batchUpdate("UPDATE products SET calorie_kcal = ?, fat_g = ?, sugar_g = ?, sodium_mg = ?, " +
+                "protein_g = ?, caffeine_mg = ? WHERE id = ?", rows);
+        log.info("영양 정보 숫자 컬럼 채움: {}건", rows.size());
+    }
+}
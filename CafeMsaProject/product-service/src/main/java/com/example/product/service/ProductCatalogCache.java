@@ -0,0 +1,218 @@
+package com.example.product.service;
+
+import com.example.product.config.RabbitConfig;
+import com.example.product.dto.ProductCacheInvalidationMessage;
+import com.example.product.dto.ProductListItem;
+import com.example.product.model.CatalogVersion;
+import com.example.product.model.Product;
+import com.example.product.repository.CatalogVersionRepository;
+import com.example.product.repository.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 read-through 캐시 (인스턴스 로컬)
+ * - 단건: id → Product (단건 조회 + ?ids= 벌크 조회 모두 여기서)
+ * - 목록: 목록 버전 + 목록 항목을 한 스냅샷으로 (ETag 와 본문이 항상 같은 시점)
+ * - 쓰기 후 evict() → 로컬 무효화 + RabbitMQ 로 다른 인스턴스에 브로드캐스트
+ * - 브로드캐스트가 유실돼도 ttl 지나면 다시 읽음
+ */
+@Slf4j
+@Component
+public class ProductCatalogCache {
+
+    /** 목록 스냅샷 (버전을 먼저 읽고 목록을 읽음) */
+    public record CatalogSnapshot(long version, Instant updatedAt, List<ProductListItem> items) {}
+
+    private static final String CATALOG_KEY = "all";
+
+    private final ProductRepository productRepository;
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final ApplicationEventPublisher events;
+    private final HotStockCounters hotStock;
+
+    private final Cache<Long, Product> products;
+    private final Cache<String, CatalogSnapshot> catalog;
+
+    // 자기 메시지 구분용 (로컬은 이미 무효화함)
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Counter invalidations;
+    private final Timer invalidationLag;
+
+    public ProductCatalogCache(ProductRepository productRepository,
+                               CatalogVersionRepository catalogVersionRepository,
+                               RabbitTemplate rabbitTemplate,
+                               ApplicationEventPublisher events,
+                               HotStockCounters hotStock,
+                               MeterRegistry registry,
+                               @Value("${product.cache.max-size:1000}") long maxSize,
+                               @Value("${product.cache.ttl:10m}") Duration ttl) {
+        this.productRepository = productRepository;
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.events = events;
+        this.hotStock = hotStock;
+
+        this.products = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.catalog = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        // 적중/미스 (cache.gets{result=hit|miss}) + 적중률 게이지
+        CaffeineCacheMetrics.monitor(registry, products, "products");
+        CaffeineCacheMetrics.monitor(registry, catalog, "productCatalog");
+        Gauge.builder("product.cache.hit.ratio", products, c -> c.stats().hitRate())
+                .tag("cache", "products").register(registry);
+        Gauge.builder("product.cache.hit.ratio", catalog, c -> c.stats().hitRate())
+                .tag("cache", "productCatalog").register(registry);
+
+        this.invalidations = Counter.builder("product.cache.invalidations")
+                .description("상품 캐시 무효화 수신 건수 (다른 인스턴스 발행분)")
+                .register(registry);
+        this.invalidationLag = Timer.builder("product.cache.invalidation.lag")
+                .description("무효화 발행 → 이 인스턴스 반영까지 걸린 시간")
+                .register(registry);
+    }
+
+    /*
+     * 조회 결과의 인기 상품 재고는 읽을 때마다 hotStock 의 메모리 몫을 더해서 돌려줌 (캐시에는 DB 행 그대로)
+     */
+
+    /** 단건 (없으면 null, 없는 id 는 캐시하지 않음) */
+    public Product getProduct(Long id) {
+        return hotStock.withAllowance(products.get(id, k -> productRepository.findById(k).orElse(null)));
+    }
+
+    /** 여러 건 — 캐시에 없는 것만 IN 쿼리 1번 */
+    public List<ProductListItem> getListItems(Collection<Long> ids) {
+        Map<Long, Product> found = products.getAll(ids, missing ->
+                productRepository.findAllById(List.copyOf(missing)).stream()
+                        .collect(Collectors.toMap(Product::getId, Function.identity())));
+        return ids.stream()
+                .distinct()
+                .map(found::get)
+                .filter(p -> p != null)
+                .map(ProductCatalogCache::toListItem)
+                .map(hotStock::withAllowance)
+                .toList();
+    }
+
+    public CatalogSnapshot getCatalog() {
+        CatalogSnapshot cached = catalog.get(CATALOG_KEY, k -> {
+            CatalogVersion cv = catalogVersionRepository.findById(CatalogVersion.ID)
+                    .orElseGet(() -> new CatalogVersion(CatalogVersion.ID, 0L, Instant.EPOCH));
+            return new CatalogSnapshot(cv.getVersion(), cv.getUpdatedAt(), productRepository.findAllListItems());
+        });
+        List<ProductListItem> items = hotStock.withAllowance(cached.items());
+        return (items == cached.items()) ? cached : new CatalogSnapshot(cached.version(), cached.updatedAt(), items);
+    }
+
+    /**
+     * 쓰기 후 호출 (저장 완료 뒤). productId == null 이면 목록만.
+     * 진행 중인 로딩이 있으면 끝날 때까지 기다렸다 지우므로, 저장 전에 읽은 값이 남지 않음
+     */
+    public void evict(Long productId) {
+        evictLocal(productId, true);
+        broadcast(productId, false, false, false);
+    }
+
+    /**
+     * 재고만 바뀐 뒤 호출 (예약/해제 커밋 후) - 재고를 쓰지 않는 검색 색인/패싯은 다시 읽지 않음
+     * - productIds: 이 인스턴스의 단건 캐시만 지움 (목록/다른 인스턴스는 그대로 → 예약마다 목록을 다시 읽지 않음)
+     * - availabilityChanged: 품절 ↔ 판매중이 바뀐 상품 → 목록도 지우고 다른 인스턴스에 브로드캐스트
+     */
+    public void evictStock(Collection<Long> productIds, Collection<Long> availabilityChanged) {
+        products.invalidateAll(productIds);
+        for (Long id : availabilityChanged) {
+            evictLocal(id, false);
+            broadcast(id, false, true, false);
+        }
+    }
+
+    /**
+     * 인기 상품 재고를 절대값으로 쓴 뒤 (HotStockCounters.overwrite 커밋 후) 호출
+     * 다른 인스턴스는 그 상품의 메모리 몫을 버리고 단건 캐시를 지움
+     */
+    public void stockReset(Collection<Long> hotIds) {
+        for (Long id : hotIds) {
+            evictLocal(id, false);
+            broadcast(id, false, true, true);
+        }
+    }
+
+    /** 대량 변경 후 호출 - 단건/목록 전부 무효화 (상품별 브로드캐스트 대신 1번) */
+    public void evictAll() {
+        evictAllLocal();
+        broadcast(null, true, false, false);
+    }
+
+    @RabbitListener(queues = "#{productCacheInstanceQueue.name}")
+    public void onInvalidation(ProductCacheInvalidationMessage msg) {
+        if (instanceId.equals(msg.origin())) return;
+        if (msg.stockReset() && msg.productId() != null) {
+            hotStock.discard(msg.productId());
+        }
+        if (msg.all()) {
+            evictAllLocal();
+        } else {
+            evictLocal(msg.productId(), !msg.stockOnly());
+        }
+        invalidations.increment();
+        invalidationLag.record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - msg.publishedAt())));
+    }
+
+    private void broadcast(Long productId, boolean all, boolean stockOnly, boolean stockReset) {
+        try {
+            rabbitTemplate.convertAndSend(RabbitConfig.PRODUCT_EVENTS_EXCHANGE, RabbitConfig.CACHE_INVALIDATE_KEY,
+                    new ProductCacheInvalidationMessage(productId, all, stockOnly, stockReset,
+                            instanceId, System.currentTimeMillis()));
+        } catch (AmqpException e) {
+            log.warn("상품 캐시 무효화 브로드캐스트 실패 (상품 {}), 다른 인스턴스는 ttl 후 갱신: {}",
+                    all ? "전체" : productId, e.getMessage());
+        }
+    }
+
+    private void evictLocal(Long productId, boolean notify) {
+        if (productId != null) products.invalidate(productId);
+        catalog.invalidate(CATALOG_KEY);
+        if (productId != null && notify) events.publishEvent(new ProductChangedEvent(productId));
+    }
+
+    private void evictAllLocal() {
+        products.invalidateAll();
+        catalog.invalidate(CATALOG_KEY);
+        events.publishEvent(new ProductCatalogReloadedEvent());
+    }
+
+    private static ProductListItem toListItem(Product p) {
+        return new ProductListItem(p.getId(), p.getName(), p.getPrice(), p.getCategory(), p.getStock(), p.getImageUrl());
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.product.service;
+
+/**
+ * 상품 전체가 바뀜 (대량 가져오기 등, 인스턴스 내부 이벤트).
+ * 상품별 ProductChangedEvent 대신 한 번만 발행 → 검색 색인/카테고리 집계는 통째로 다시 만듦
+ */
+public record ProductCatalogReloadedEvent() {}
@@ -0,0 +1,7 @@
+package com.example.product.service;
+
+/**
+ * 상품 변경 알림 (인스턴스 내부 이벤트).
+ * 이 인스턴스의 쓰기 + 다른 인스턴스에서 온 무효화 모두 발행 → 검색 색인 등이 구독해서 갱신
+ */
+public record ProductChangedEvent(Long productId) {}
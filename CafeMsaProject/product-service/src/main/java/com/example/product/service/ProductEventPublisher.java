@@ -0,0 +1,30 @@
+package com.example.product.service;
+
+import com.example.product.config.RabbitConfig;
+import com.example.product.dto.ProductPriceChangedMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 상품 변경 이벤트 발행.
+ * 저장은 이미 끝난 뒤라 발행 실패로 요청을 실패시키지 않음 (장바구니 가격은 다음 변경/결제 때 맞춰짐)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductEventPublisher {
+
+    private final RabbitTemplate rabbitTemplate;
+
+    public void priceChanged(Long productId, Double oldPrice, Double newPrice) {
+        try {
+            rabbitTemplate.convertAndSend(RabbitConfig.PRODUCT_EVENTS_EXCHANGE, RabbitConfig.PRICE_CHANGED_KEY,
+                    new ProductPriceChangedMessage(productId, oldPrice, newPrice));
+        } catch (AmqpException e) {
+            log.warn("가격 변경 이벤트 발행 실패 (상품 {}): {}", productId, e.getMessage());
+        }
+    }
+}
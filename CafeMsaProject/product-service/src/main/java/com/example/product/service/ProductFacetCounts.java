@@ -0,0 +1,62 @@
+package com.example.product.service;
+
+import com.example.product.dto.CategoryCount;
+import com.example.product.model.Product;
+import com.example.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 카테고리별 상품 수 (인스턴스 메모리)
+ * - 기동 시 목록 조회 1번으로 초기화, 이후 ProductChangedEvent 마다 바뀐 상품만큼 증감
+ * - 증감하려면 이전 카테고리를 알아야 하므로 상품 id → 카테고리도 같이 보관
+ * - 상품을 다시 읽는 것도 잠금 안에서 (먼저 읽은 옛 카테고리가 나중에 반영되지 않게)
+ * - 카테고리 없는 상품은 집계하지 않음 (?category= 로도 걸리지 않으므로)
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductFacetCounts {
+
+    private final ProductRepository productRepository;
+
+    private final Map<String, Long> counts = new HashMap<>();
+    private final Map<Long, String> categoryById = new HashMap<>();
+
+    @EventListener({ApplicationReadyEvent.class, ProductCatalogReloadedEvent.class})
+    public synchronized void rebuild() {
+        counts.clear();
+        categoryById.clear();
+        productRepository.findAllListItems().forEach(p -> {
+            if (p.category() == null) return;
+            categoryById.put(p.id(), p.category());
+            counts.merge(p.category(), 1L, Long::sum);
+        });
+    }
+
+    @EventListener
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        String now = productRepository.findById(event.productId()).map(Product::getCategory).orElse(null);
+        String before = (now == null)
+                ? categoryById.remove(event.productId())
+                : categoryById.put(event.productId(), now);
+        if (before != null && before.equals(now)) return;
+        if (before != null) counts.computeIfPresent(before, (k, v) -> v > 1 ? v - 1 : null);
+        if (now != null) counts.merge(now, 1L, Long::sum);
+    }
+
+    /** 상품 수 많은 순 (같으면 이름순) */
+    public synchronized List<CategoryCount> categories() {
+        return counts.entrySet().stream()
+                .map(e -> new CategoryCount(e.getKey(), e.getValue()))
+                .sorted(Comparator.comparingLong(CategoryCount::count).reversed()
+                        .thenComparing(CategoryCount::category))
+                .toList();
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.product.service;
+
+import com.example.product.model.Product;
+import com.example.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품 검색용 역색인 (인스턴스 메모리)
+ * - 이름/카테고리/설명/알레르기 텍스트를 글자 2-gram 으로 쪼개 색인 → 한글 부분 일치 ("메리" → "아메리카노")
+ * - 한 글자 단어는 1-gram 으로 색인. 긴 단어 속 글자도 1-gram 으로 낮은 가중치로 함께 색인
+ *   → 한 글자 검색 ("차", "빵") 도 "녹차", "빵빵" 같은 단어 안에서 찾음 (2-gram 검색 순위에는 영향 없음)
+ * - 기동 시 전체 구축, 이후 ProductChangedEvent 마다 해당 상품만 다시 색인
+ *   갱신은 DB 읽기부터 반영까지 한 번에 하나 (먼저 읽은 옛 스냅샷이 나중에 반영되지 않게)
+ * - 검색어 단어마다 따로 일치 판단 (그 단어 gram 의 절반 이상) → 단어 하나라도 맞으면 결과
+ *   ("아이스 라떼" → 아이스티, 카페 라떼 모두, 둘 다 맞는 상품이 먼저)
+ * - 순위: 일치한 단어 수 → 일치한 gram 수 → Σ(필드 가중치 × 등장 횟수 × idf)
+ * - 목록의 keyword 필터(이름 부분 일치)도 여기서 후보를 거름 (LIKE '%..%' 전체 스캔 대신)
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+
+    // 필드 가중치: 이름 > 카테고리 > 설명/알레르기
+    private static final int W_NAME = 3;
+    private static final int W_CATEGORY = 2;
+    private static final int W_TEXT = 1;
+    // gram 가중치: 2-gram / 한 글자 단어 > 긴 단어 속 글자
+    private static final int W_GRAM = 2;
+    private static final int W_CHAR = 1;
+
+    /** 검색 결과 id + 전체 일치 건수 */
+    public record SearchResult(List<Long> ids, int total) {}
+
+    private record Scored(Long id, int words, int matched, double score) {}
+
+    private final ProductRepository productRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // 갱신끼리 직렬화 (DB 읽기 포함). 검색은 반영하는 동안만 쓰기 잠금에 막힘
+    private final Object refreshLock = new Object();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>(); // gram → (상품 id → 가중 빈도)
+    private final Map<Long, Map<String, Integer>> docTerms = new HashMap<>(); // 상품 id → gram (삭제/재색인용)
+    private final Map<Long, String> docNames = new HashMap<>();               // 상품 id → 소문자 이름 (keyword 확인용)
+
+    @EventListener({ApplicationReadyEvent.class, ProductCatalogReloadedEvent.class})
+    public void rebuild() {
+        synchronized (refreshLock) {
+            List<Product> all = productRepository.findAll();
+            lock.writeLock().lock();
+            try {
+                postings.clear();
+                docTerms.clear();
+                docNames.clear();
+                all.forEach(this::addLocked);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /** 상품 하나 다시 색인 (삭제됐으면 제거) */
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        synchronized (refreshLock) {
+            Product p = productRepository.findById(event.productId()).orElse(null);
+            lock.writeLock().lock();
+            try {
+                removeLocked(event.productId());
+                if (p != null) addLocked(p);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public SearchResult search(String query, int page, int size) {
+        List<Set<String>> words = queryWords(query);
+        if (words.isEmpty()) return new SearchResult(List.of(), 0);
+
+        List<Scored> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            int n = Math.max(1, docTerms.size());
+            Map<Long, Scored> byDoc = new HashMap<>();
+            for (Set<String> grams : words) {
+                // 단어마다 그 단어 gram 의 절반 이상이 맞아야 그 단어가 일치한 것으로 봄
+                int minMatched = (grams.size() + 1) / 2;
+                Map<Long, int[]> matched = new HashMap<>();
+                Map<Long, Double> scores = new HashMap<>();
+                for (String g : grams) {
+                    Map<Long, Integer> docs = postings.get(g);
+                    if (docs == null) continue;
+                    double idf = Math.log((double) n / docs.size()) + 1.0;
+                    docs.forEach((id, tf) -> {
+                        matched.computeIfAbsent(id, k -> new int[1])[0]++;
+                        scores.merge(id, tf * idf, Double::sum);
+                    });
+                }
+                matched.forEach((id, m) -> {
+                    if (m[0] < minMatched) return;
+                    byDoc.merge(id, new Scored(id, 1, m[0], scores.get(id)), (a, b) ->
+                            new Scored(id, a.words() + b.words(), a.matched() + b.matched(), a.score() + b.score()));
+                });
+            }
+            hits.addAll(byDoc.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(Comparator.comparingInt(Scored::words).reversed()
+                .thenComparing(Comparator.comparingInt(Scored::matched).reversed())
+                .thenComparing(Comparator.comparingDouble(Scored::score).reversed())
+                .thenComparing(Scored::id));
+        List<Long> ids = hits.stream()
+                .skip((long) page * size)
+                .limit(size)
+                .map(Scored::id)
+                .toList();
+        return new SearchResult(ids, hits.size());
+    }
+
+    /**
+     * 이름에 keyword 가 들어간 (대소문자 무시) 상품 id, 오름차순
+     * 부분 문자열이면 keyword 의 gram 은 모두 이름의 gram 이므로, 가장 짧은 postings 만 이름과 대조하면 됨
+     * keyword 에 글자/숫자가 없으면 null (색인으로 거를 수 없음 → 호출 쪽이 DB 조건으로)
+     */
+    public List<Long> idsWithNameContaining(String keyword) {
+        String kw = keyword.toLowerCase(Locale.ROOT);
+        Set<String> grams = tokenize(kw).keySet();
+        if (grams.isEmpty()) return null;
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> smallest = null;
+            for (String g : grams) {
+                Map<Long, Integer> docs = postings.get(g);
+                if (docs == null) return List.of();
+                if (smallest == null || docs.size() < smallest.size()) smallest = docs;
+            }
+            return smallest.keySet().stream()
+                    .filter(id -> {
+                        String name = docNames.get(id);
+                        return name != null && name.contains(kw);
+                    })
+                    .sorted()
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /* ---- 색인 (writeLock 안에서) ---- */
+
+    private void addLocked(Product p) {
+        Map<String, Integer> terms = new HashMap<>();
+        addField(terms, p.getName(), W_NAME);
+        addField(terms, p.getCategory(), W_CATEGORY);
+        addField(terms, p.getDescription(), W_TEXT);
+        addField(terms, p.getAllergy(), W_TEXT);
+        if (p.getName() != null) docNames.put(p.getId(), p.getName().toLowerCase(Locale.ROOT));
+        if (terms.isEmpty()) return;
+
+        docTerms.put(p.getId(), terms);
+        terms.forEach((g, tf) -> postings.computeIfAbsent(g, k -> new HashMap<>()).put(p.getId(), tf));
+    }
+
+    private void removeLocked(Long id) {
+        docNames.remove(id);
+        Map<String, Integer> terms = docTerms.remove(id);
+        if (terms == null) return;
+        for (String g : terms.keySet()) {
+            Map<Long, Integer> docs = postings.get(g);
+            if (docs == null) continue;
+            docs.remove(id);
+            if (docs.isEmpty()) postings.remove(g);
+        }
+    }
+
+    private static void addField(Map<String, Integer> terms, String text, int weight) {
+        indexTerms(text).forEach((g, c) -> terms.merge(g, c * weight, Integer::sum));
+    }
+
+    /** 검색어용: 소문자화 → 공백/구두점 기준 단어 → 단어별 2-gram (한 글자 단어는 그대로). gram → 등장 횟수 */
+    static Map<String, Integer> tokenize(String text) {
+        Map<String, Integer> grams = new HashMap<>();
+        for (int[] cps : words(text)) {
+            if (cps.length == 1) {
+                grams.merge(Character.toString(cps[0]), 1, Integer::sum);
+                continue;
+            }
+            for (int i = 0; i + 1 < cps.length; i++) {
+                grams.merge(new String(cps, i, 2), 1, Integer::sum);
+            }
+        }
+        return grams;
+    }
+
+    /** 검색어 단어별 gram (같은 단어는 한 번) */
+    private static List<Set<String>> queryWords(String query) {
+        Set<Set<String>> words = new LinkedHashSet<>();
+        for (int[] cps : words(query)) {
+            Set<String> grams = new LinkedHashSet<>();
+            if (cps.length == 1) {
+                grams.add(Character.toString(cps[0]));
+            } else {
+                for (int i = 0; i + 1 < cps.length; i++) {
+                    grams.add(new String(cps, i, 2));
+                }
+            }
+            words.add(grams);
+        }
+        return new ArrayList<>(words);
+    }
+
+    /** 색인용: tokenize 의 gram (W_GRAM) + 두 글자 이상 단어의 각 글자 (W_CHAR). gram → 가중 빈도 */
+    static Map<String, Integer> indexTerms(String text) {
+        Map<String, Integer> terms = new HashMap<>();
+        tokenize(text).forEach((g, c) -> terms.merge(g, c * W_GRAM, Integer::sum));
+        for (int[] cps : words(text)) {
+            if (cps.length == 1) continue;
+            for (int cp : cps) {
+                terms.merge(Character.toString(cp), W_CHAR, Integer::sum);
+            }
+        }
+        return terms;
+    }
+
+    private static List<int[]> words(String text) {
+        List<int[]> words = new ArrayList<>();
+        if (text == null || text.isBlank()) return words;
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) words.add(word.codePoints().toArray());
+        }
+        return words;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.product.service;
+
+import com.example.product.model.Product;
+import com.example.product.repository.CatalogVersionRepository;
+import com.example.product.repository.ProductRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 상품 생성/수정/삭제 (관리자 쓰기)
+ * - 상품 행 + 목록 버전 +1 을 한 트랜잭션으로 → 버전만 오르거나 상품만 바뀐 채로 남지 않음
+ * - 캐시 무효화/브로드캐스트/가격 변경 이벤트는 커밋 후 (롤백된 변경을 다른 인스턴스가 다시 읽지 않게,
+ *   커밋 전에 지운 캐시를 옛 값으로 다시 채우지 않게)
+ */
+@Service
+public class ProductWriteService {
+
+    /** 커밋 후 처리할 변경 내용 (oldPrice/newPrice 는 수정일 때만) */
+    record ProductWritten(Long productId, boolean stockReset, boolean priceChanged, Double oldPrice, Double newPrice) {}
+
+    private final ProductRepository productRepository;
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final ProductCatalogCache catalogCache;
+    private final ProductEventPublisher eventPublisher;
+    private final HotStockCounters hotStock;
+    private final ApplicationEventPublisher events;
+
+    public ProductWriteService(ProductRepository productRepository,
+                               CatalogVersionRepository catalogVersionRepository,
+                               ProductCatalogCache catalogCache,
+                               ProductEventPublisher eventPublisher,
+                               HotStockCounters hotStock,
+                               ApplicationEventPublisher events) {
+        this.productRepository = productRepository;
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.catalogCache = catalogCache;
+        this.eventPublisher = eventPublisher;
+        this.hotStock = hotStock;
+        this.events = events;
+    }
+
+    @Transactional
+    public Product create(Product product) {
+        product.setId(null); // 안전하게
+        product.setVersion(null);
+        Product saved = productRepository.save(product);
+        catalogVersionRepository.bump(Instant.now());
+        events.publishEvent(new ProductWritten(saved.getId(), false, false, null, null));
+        return saved;
+    }
+
+    /** 없으면 empty. 그 사이 다른 쓰기가 있었으면 (version 불일치) ObjectOptimisticLockingFailureException */
+    @Transactional
+    public Optional<Product> update(Long id, Product update) {
+        return productRepository.findById(id).map(p -> {
+            Double oldPrice = p.getPrice();
+            p.setName(update.getName());
+            p.setPrice(update.getPrice());
+            p.setStock(update.getStock());
+            p.setCategory(update.getCategory());
+
+            // 상세 스펙 필드들
+            p.setCalorie(update.getCalorie());
+            p.setDescription(update.getDescription());
+            p.setAllergy(update.getAllergy());
+
+            // 영양 정보 필드들
+            p.setFat(update.getFat());
+            p.setSugar(update.getSugar());
+            p.setSodium(update.getSodium());
+            p.setProtein(update.getProtein());
+            p.setCaffeine(update.getCaffeine());
+
+            // 이미지 URL
+            p.setImageUrl(update.getImageUrl());
+
+            catalogVersionRepository.bump(Instant.now());
+            // 인기 상품이면 메모리 몫을 비우고 같은 잠금 안에서 UPDATE 까지 실행 (flush)
+            // → 잠금을 놓은 뒤의 DB 충전은 커밋될 때까지 행 잠금에서 기다림 (보이는 재고 = 입력값)
+            Product saved = hotStock.overwrite(List.of(id), () -> productRepository.saveAndFlush(p));
+            events.publishEvent(new ProductWritten(id, hotStock.isHot(id),
+                    !Objects.equals(oldPrice, saved.getPrice()), oldPrice, saved.getPrice()));
+            return saved;
+        });
+    }
+
+    /** 없으면 false */
+    @Transactional
+    public boolean delete(Long id) {
+        if (!productRepository.existsById(id)) {
+            return false;
+        }
+        productRepository.deleteById(id);
+        catalogVersionRepository.bump(Instant.now());
+        events.publishEvent(new ProductWritten(id, false, false, null, null));
+        return true;
+    }
+
+    /** 커밋 후: 캐시 무효화 + 브로드캐스트, 가격이 바뀌었을 때만 이벤트 (장바구니 재가격). 롤백이면 호출되지 않음 */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void afterCommit(ProductWritten e) {
+        catalogCache.evict(e.productId());
+        if (e.stockReset()) {
+            catalogCache.stockReset(List.of(e.productId()));
+        }
+        if (e.priceChanged()) {
+            eventPublisher.priceChanged(e.productId(), e.oldPrice(), e.newPrice());
+        }
+    }
+}
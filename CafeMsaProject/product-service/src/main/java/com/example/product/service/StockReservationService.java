@@ -0,0 +1,274 @@
+package com.example.product.service;
+
+import com.example.product.dto.StockReservationItem;
+import com.example.product.model.StockReservation;
+import com.example.product.model.StockReservationLine;
+import com.example.product.repository.CatalogVersionRepository;
+import com.example.product.repository.ProductRepository;
+import com.example.product.repository.StockReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+/**
+ * 재고 예약
+ * - 일반 상품: 한 트랜잭션 안에서 상품별 조건부 UPDATE (stock >= 수량). 하나라도 실패하면 전체 롤백
+ *   상품 id 순으로 차감 → 여러 예약이 같은 상품들을 잡아도 잠금 순서가 같아 교착 없음
+ * - 인기 상품: HotStockCounters (메모리) 에서 먼저 차감, DB 쪽이 실패하면 메모리로 되돌림
+ * - 확정 안 된 예약은 ttl 후 자동 해제 (재고 복구)
+ * - 재고가 바뀌면 커밋 후 그 상품의 단건 캐시만 무효화 (이 인스턴스)
+ *   품절 ↔ 판매중이 바뀐 상품이 있을 때만 목록 버전 +1 / 목록 캐시 무효화 / 브로드캐스트
+ *   → 예약마다 목록 버전 행을 잠그지 않음 (화면은 재고를 품절 여부로만 씀)
+ */
+@Slf4j
+@Service
+public class StockReservationService {
+
+    private static final int MAX_ITEMS = 100;
+
+    private final ProductRepository productRepository;
+    private final StockReservationRepository reservationRepository;
+    private final HotStockCounters hotStock;
+    private final ProductCatalogCache catalogCache;
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final TransactionTemplate tx;
+    private final Duration ttl;
+    private final int sweepBatchSize;
+
+    public StockReservationService(ProductRepository productRepository,
+                                   StockReservationRepository reservationRepository,
+                                   HotStockCounters hotStock,
+                                   ProductCatalogCache catalogCache,
+                                   CatalogVersionRepository catalogVersionRepository,
+                                   TransactionTemplate tx,
+                                   @Value("${product.reservation.ttl:15m}") Duration ttl,
+                                   @Value("${product.reservation.sweep-batch-size:100}") int sweepBatchSize) {
+        this.productRepository = productRepository;
+        this.reservationRepository = reservationRepository;
+        this.hotStock = hotStock;
+        this.catalogCache = catalogCache;
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.tx = tx;
+        this.ttl = ttl;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    /** 예약 (전부 아니면 전무). 부족하면 InsufficientStockException, 없는 상품이면 NoSuchElementException */
+    public StockReservation reserve(List<StockReservationItem> items, String owner) {
+        Map<Long, Integer> wanted = merge(items);
+
+        List<StockReservationLine> takenHot = new ArrayList<>();
+        List<Long> soldOut = new ArrayList<>();
+        try {
+            // 1) 인기 상품: 메모리 (DB 충전이 필요하면 따로 커밋)
+            for (Map.Entry<Long, Integer> e : wanted.entrySet()) {
+                if (!hotStock.isHot(e.getKey())) continue;
+                if (!hotStock.take(e.getKey(), e.getValue())) {
+                    throw stockFailure(e.getKey());
+                }
+                takenHot.add(new StockReservationLine(e.getKey(), e.getValue()));
+            }
+
+            // 2) 일반 상품 차감 + 예약 저장 (한 트랜잭션)
+            StockReservation saved = tx.execute(status -> {
+                for (Map.Entry<Long, Integer> e : wanted.entrySet()) {
+                    if (hotStock.isHot(e.getKey())) continue;
+                    if (productRepository.decrementStock(e.getKey(), e.getValue()) == 0) {
+                        throw stockFailure(e.getKey());
+                    }
+                    // 행 잠금을 잡은 채 읽으므로 동시 차감 중 0 을 만든 쪽이 정확히 봄
+                    if (productRepository.findStockById(e.getKey()) == 0) {
+                        soldOut.add(e.getKey());
+                    }
+                }
+                Instant now = Instant.now();
+                StockReservation r = StockReservation.builder()
+                        .status(StockReservation.Status.RESERVED)
+                        .owner(owner)
+                        .createdAt(now)
+                        .expiresAt(now.plus(ttl))
+                        .build();
+                wanted.forEach((id, qty) -> r.getLines().add(new StockReservationLine(id, qty)));
+                return reservationRepository.save(r);
+            });
+            // execute 가 돌아오면 커밋 완료
+            takenHot.forEach(l -> {
+                if (visibleStock(l.getProductId(), 0) == 0) soldOut.add(l.getProductId());
+            });
+            stockChanged(wanted.keySet(), soldOut);
+            return saved;
+        } catch (RuntimeException e) {
+            takenHot.forEach(l -> hotStock.release(l.getProductId(), l.getQuantity()));
+            throw e;
+        }
+    }
+
+    /**
+     * 확정 (주문 완료). 이미 확정이면 그대로, 만료/해제됐으면 IllegalStateException
+     * 남의 예약이면 (anyOwner 가 아닐 때) 없는 예약과 같이 NoSuchElementException
+     */
+    public StockReservation confirm(Long id, String owner, boolean anyOwner) {
+        return tx.execute(status -> {
+            int updated = reservationRepository.transitionBefore(id,
+                    StockReservation.Status.RESERVED, StockReservation.Status.CONFIRMED, Instant.now());
+            StockReservation r = find(id);
+            checkOwner(r, owner, anyOwner); // 남의 예약이면 여기서 던져 전이도 롤백
+            if (updated == 0 && r.getStatus() != StockReservation.Status.CONFIRMED) {
+                throw new IllegalStateException("만료되었거나 해제된 예약입니다. id=" + id);
+            }
+            return r;
+        });
+    }
+
+    /** 해제 (주문 취소). 이미 해제면 그대로, 확정된 예약은 IllegalStateException. 소유자 확인은 confirm 과 같음 */
+    public StockReservation release(Long id, String owner, boolean anyOwner) {
+        StockReservation r = releaseIfReserved(id, owner, anyOwner);
+        if (r.getStatus() == StockReservation.Status.CONFIRMED) {
+            throw new IllegalStateException("이미 확정된 예약입니다. id=" + id);
+        }
+        return r;
+    }
+
+    /** 만료된 예약 해제 - 묶음 단위로 반복 */
+    @Scheduled(fixedDelayString = "${product.reservation.sweep-interval-ms:60000}",
+               initialDelayString = "${product.reservation.sweep-interval-ms:60000}")
+    public void releaseExpired() {
+        int total = 0;
+        List<Long> ids;
+        do {
+            ids = reservationRepository.findExpiredIds(StockReservation.Status.RESERVED, Instant.now(),
+                    PageRequest.of(0, sweepBatchSize));
+            for (Long id : ids) {
+                releaseIfReserved(id, null, true);
+            }
+            total += ids.size();
+        } while (ids.size() == sweepBatchSize);
+
+        if (total > 0) {
+            log.info("만료 재고 예약 해제: {}건", total);
+        }
+    }
+
+    /**
+     * RESERVED → RELEASED 로 바꾼 쪽만 재고 복구 (해제/만료/확정이 겹쳐도 한 번만)
+     * DB 복구는 상태 변경과 같은 트랜잭션, 인기 상품 메모리 복구는 커밋 후
+     * 남의 예약이면 (anyOwner 가 아닐 때) 트랜잭션 안에서 던져 전이/복구 모두 롤백
+     */
+    private StockReservation releaseIfReserved(Long id, String owner, boolean anyOwner) {
+        List<StockReservationLine> hotLines = new ArrayList<>();
+        List<Long> changed = new ArrayList<>();
+        List<Long> backInStock = new ArrayList<>();
+        StockReservation r = tx.execute(status -> {
+            int updated = reservationRepository.transition(id,
+                    StockReservation.Status.RESERVED, StockReservation.Status.RELEASED);
+            StockReservation found = find(id);
+            checkOwner(found, owner, anyOwner);
+            if (updated == 1) {
+                for (StockReservationLine l : found.getLines()) {
+                    changed.add(l.getProductId());
+                    if (hotStock.isHot(l.getProductId())) {
+                        hotLines.add(l);
+                    } else {
+                        productRepository.incrementStock(l.getProductId(), l.getQuantity());
+                        if (l.getQuantity().equals(productRepository.findStockById(l.getProductId()))) {
+                            backInStock.add(l.getProductId()); // 0 이었다가 다시 판매중
+                        }
+                    }
+                }
+            }
+            return found;
+        });
+        hotLines.forEach(l -> {
+            hotStock.release(l.getProductId(), l.getQuantity());
+            if (visibleStock(l.getProductId(), l.getQuantity()) == l.getQuantity()) {
+                backInStock.add(l.getProductId());
+            }
+        });
+        if (!changed.isEmpty()) {
+            stockChanged(changed, backInStock);
+        }
+        return r;
+    }
+
+    /**
+     * 재고 변경 커밋 후: 단건 캐시 무효화. 품절 여부가 바뀐 상품이 있으면 목록 버전 +1 (ETag) → 목록 무효화 순
+     * 실패해도 예약은 이미 반영됐으므로 로그만 (캐시는 ttl 후 갱신)
+     */
+    private void stockChanged(Collection<Long> productIds, Collection<Long> availabilityChanged) {
+        if (!availabilityChanged.isEmpty()) {
+            try {
+                catalogVersionRepository.bump(Instant.now());
+            } catch (DataAccessException e) {
+                log.warn("품절 상태 변경 후 목록 버전 갱신 실패: {}", e.getMessage());
+            }
+        }
+        catalogCache.evictStock(productIds, availabilityChanged);
+    }
+
+    /**
+     * 인기 상품의 보이는 재고 (행 + 메모리 몫). 메모리 몫이 atMost 보다 많으면 행을 읽지 않고 그 값으로 충분
+     * (품절/재입고 판단에는 0 또는 해제 수량과 같은지만 필요). 커밋 후 잠금 없이 읽으므로 근사치
+     */
+    private int visibleStock(Long productId, int atMost) {
+        int allowance = hotStock.allowance(productId);
+        if (allowance > atMost) return allowance;
+        Integer row = productRepository.findStockById(productId);
+        return allowance + (row == null ? 0 : row);
+    }
+
+    /** 남의 예약은 없는 예약과 같게 (id 가 순번이라 존재 여부도 알려주지 않음) */
+    private static void checkOwner(StockReservation r, String owner, boolean anyOwner) {
+        if (!anyOwner && !r.getOwner().equals(owner)) {
+            throw new NoSuchElementException("예약이 없습니다. id=" + r.getId());
+        }
+    }
+
+    private StockReservation find(Long id) {
+        return reservationRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("예약이 없습니다. id=" + id));
+    }
+
+    /** 검증 + 같은 상품 합치기 (id 순 정렬 = 잠금 순서) */
+    private static Map<Long, Integer> merge(List<StockReservationItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("items가 필요합니다.");
+        }
+        if (items.size() > MAX_ITEMS) {
+            throw new IllegalArgumentException("한 번에 최대 " + MAX_ITEMS + "개까지 예약할 수 있습니다.");
+        }
+        Map<Long, Integer> merged = new TreeMap<>();
+        for (StockReservationItem i : items) {
+            if (i == null || i.productId() == null) {
+                throw new IllegalArgumentException("productId가 필요합니다.");
+            }
+            if (i.quantity() == null || i.quantity() < 1) {
+                throw new IllegalArgumentException("quantity는 1 이상이어야 합니다.");
+            }
+            try {
+                merged.merge(i.productId(), i.quantity(), Math::addExact);
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("같은 상품의 수량 합계가 너무 큽니다. productId=" + i.productId());
+            }
+        }
+        return merged;
+    }
+
+    private RuntimeException stockFailure(Long productId) {
+        return productRepository.existsById(productId)
+                ? new InsufficientStockException(productId)
+                : new NoSuchElementException("상품이 없습니다. productId=" + productId);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.product.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * auth-service 가 발급한 JWT 검증 (같은 jwt.secret, HS256)
+ * 키/파서는 기동 시 한 번만 만들고 재사용 (JwtParser 는 불변 → 스레드 안전)
+ */
+@Component
+public class JwtVerifier {
+
+    public static final String ROLE_OWNER = "ROLE_OWNER";
+    public static final String ROLE_USER = "ROLE_USER";
+
+    /** 검증된 토큰의 사용자 (role = ROLE_OWNER / ROLE_USER) */
+    public record Principal(String username, String role) {}
+
+    @Value("${jwt.secret}")
+    private String secret;
+    @Value("${jwt.clock-skew-seconds:30}")
+    private long clockSkewSeconds;
+
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .setAllowedClockSkewSeconds(clockSkewSeconds)
+                .build();
+    }
+
+    /** 서명/만료 확인 후 사용자 (유효하지 않거나 모르는 역할이면 null) */
+    public Principal verify(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            String role = mapRole(claims.get("role", String.class));
+            if (claims.getSubject() == null || role == null) return null;
+            return new Principal(claims.getSubject(), role);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /** auth-service 역할 → 이 서비스 권한 (ROLE_ADMIN 은 예전 이름, 사장과 같음) */
+    static String mapRole(String role) {
+        if (role == null) return null;
+        String r = role.trim().toUpperCase(Locale.ROOT);
+        if (r.startsWith("ROLE_")) r = r.substring(5);
+        return switch (r) {
+            case "OWNER", "ADMIN" -> ROLE_OWNER;
+            case "USER" -> ROLE_USER;
+            default -> null;
+        };
+    }
+}
@@ -85,3 +85,6 @@ INSERT INTO PRODUCTS (
        '7g', '14g', '160mg', '3g', '카페인 없음',
        'https://allbakery.co.kr/data/item/11-1052/7YyM6647Jyg7Lg7YKk66eI7Lm064uk6647JWEjpg7KSR.jpg');
 
+
+-- 상품 목록 버전 (ETag)
+INSERT INTO CATALOG_VERSION (id, version, updated_at) VALUES (1, 1, CURRENT_TIMESTAMP);
@@ -0,0 +1,181 @@
+package com.example.product.service;
+
+import com.example.product.model.Product;
+import com.example.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HotStockCountersTest {
+
+    private static final Long HOT = 1L;
+
+    /** DB 행 재고 (조건부 차감/복구를 흉내) */
+    private final AtomicInteger rowStock = new AtomicInteger();
+    private ProductRepository repo;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(ProductRepository.class);
+        when(repo.decrementStock(eq(HOT), anyInt())).thenAnswer(inv -> {
+            int qty = inv.getArgument(1);
+            int[] ok = {0};
+            rowStock.updateAndGet(s -> {
+                if (s < qty) return s;
+                ok[0] = 1;
+                return s - qty;
+            });
+            return ok[0];
+        });
+        when(repo.incrementStock(eq(HOT), anyInt())).thenAnswer(inv -> {
+            rowStock.addAndGet(inv.getArgument(1));
+            return 1;
+        });
+    }
+
+    private HotStockCounters counters(int stripes, int chunk) {
+        return new HotStockCounters(repo, Set.of(HOT), stripes, chunk);
+    }
+
+    @Test
+    void refillsAChunkAndServesFollowingTakesFromMemory() {
+        rowStock.set(100);
+        HotStockCounters hot = counters(1, 10);
+
+        assertThat(hot.take(HOT, 1)).isTrue();
+        assertThat(rowStock.get()).isEqualTo(90);
+        assertThat(hot.allowance(HOT)).isEqualTo(9);
+
+        for (int i = 0; i < 9; i++) {
+            assertThat(hot.take(HOT, 1)).isTrue();
+        }
+        verify(repo, times(1)).decrementStock(eq(HOT), anyInt());
+        assertThat(hot.allowance(HOT)).isZero();
+    }
+
+    @Test
+    void takesOnlyWhatIsNeededWhenLessThanAChunkIsLeft() {
+        rowStock.set(3);
+        HotStockCounters hot = counters(4, 10);
+
+        assertThat(hot.take(HOT, 2)).isTrue();
+        assertThat(rowStock.get()).isEqualTo(1);
+        assertThat(hot.allowance(HOT)).isZero();
+
+        assertThat(hot.take(HOT, 2)).isFalse();
+        assertThat(rowStock.get()).isEqualTo(1);
+    }
+
+    @Test
+    void failedTakeKeepsThePooledAllowance() {
+        rowStock.set(5);
+        HotStockCounters hot = counters(4, 5);
+        assertThat(hot.take(HOT, 1)).isTrue(); // 몫 4, DB 0
+
+        assertThat(hot.take(HOT, 10)).isFalse();
+        assertThat(hot.allowance(HOT)).isEqualTo(4);
+        assertThat(rowStock.get()).isZero();
+    }
+
+    @Test
+    void concurrentTakesNeverOversell() throws Exception {
+        rowStock.set(50);
+        HotStockCounters hot = counters(8, 7);
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger sold = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 10; i++) {
+                        if (hot.take(HOT, 1)) sold.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(sold.get()).isEqualTo(50);
+        assertThat(rowStock.get()).isZero();
+        assertThat(hot.allowance(HOT)).isZero();
+    }
+
+    @Test
+    void releaseGoesToMemoryAndIsReusedWithoutTheDatabase() {
+        rowStock.set(0);
+        HotStockCounters hot = counters(4, 10);
+
+        hot.release(HOT, 2);
+
+        assertThat(hot.take(HOT, 2)).isTrue();
+        verify(repo, never()).decrementStock(eq(HOT), anyInt());
+    }
+
+    @Test
+    void overwriteDropsTheAllowanceAndRestoresItWhenTheWriteFails() {
+        rowStock.set(100);
+        HotStockCounters hot = counters(4, 10);
+        hot.take(HOT, 1); // 몫 9
+
+        assertThatThrownBy(() -> hot.overwrite(List.of(HOT), () -> {
+            throw new IllegalStateException("write failed");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(hot.allowance(HOT)).isEqualTo(9);
+
+        int seen = hot.overwrite(List.of(HOT), () -> hot.allowance(HOT));
+        assertThat(seen).isZero();
+        assertThat(hot.allowance(HOT)).isZero();
+    }
+
+    @Test
+    void returnAllGivesUnusedAllowanceBackToTheRow() {
+        rowStock.set(100);
+        HotStockCounters hot = counters(4, 10);
+        hot.take(HOT, 3); // DB 90, 몫 7
+
+        hot.returnAll();
+
+        assertThat(rowStock.get()).isEqualTo(97);
+        assertThat(hot.allowance(HOT)).isZero();
+    }
+
+    @Test
+    void visibleStockIncludesTheAllowanceOnlyForHotProducts() {
+        rowStock.set(100);
+        HotStockCounters hot = counters(4, 10);
+        hot.take(HOT, 1);
+
+        assertThat(hot.withAllowance(Product.builder().id(HOT).stock(90).build()).getStock())
+                .isEqualTo(99);
+        assertThat(hot.withAllowance(Product.builder().id(2L).stock(5).build()).getStock())
+                .isEqualTo(5);
+    }
+}
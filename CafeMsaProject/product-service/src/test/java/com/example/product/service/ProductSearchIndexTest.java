@@ -0,0 +1,126 @@
+package com.example.product.service;
+
+import com.example.product.model.Product;
+import com.example.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = index(
+                product(1L, "아메리카노", "커피"),
+                product(2L, "녹차 라떼", "티"),
+                product(3L, "차", "티"),
+                product(4L, "소금빵", "베이커리"),
+                product(5L, "카페 라떼", "커피"));
+    }
+
+    private static ProductSearchIndex index(Product... products) {
+        ProductRepository repo = mock(ProductRepository.class);
+        when(repo.findAll()).thenReturn(List.of(products));
+        ProductSearchIndex index = new ProductSearchIndex(repo);
+        index.rebuild();
+        return index;
+    }
+
+    private static Product product(Long id, String name, String category) {
+        return Product.builder().id(id).name(name).category(category).price(1000.0).stock(1).build();
+    }
+
+    @Test
+    void partialMatchInsideAWord() {
+        assertThat(index.search("메리", 0, 10).ids()).containsExactly(1L);
+    }
+
+    @Test
+    void oneCharacterQueryMatchesInsideLongerWords() {
+        // 한 글자 단어 "차" 가 이름 그대로인 상품이 먼저, 그다음 "녹차"
+        assertThat(index.search("차", 0, 10).ids()).startsWith(3L).contains(2L);
+        assertThat(index.search("빵", 0, 10).ids()).containsExactly(4L);
+    }
+
+    @Test
+    void characterPostingsDoNotChangeBigramMatching() {
+        // "라떼" 는 2-gram 하나 → 두 라떼만 (글자 "라"/"떼" 만 있는 상품은 없음)
+        assertThat(index.search("라떼", 0, 10).ids()).containsExactlyInAnyOrder(2L, 5L);
+        // "카페" 2-gram 은 "아메리카노" 의 "카" 글자만으로는 맞지 않음
+        assertThat(index.search("카페", 0, 10).ids()).containsExactly(5L);
+    }
+
+    @Test
+    void keywordIdsAreExactNameSubstringMatchesInIdOrder() {
+        assertThat(index.idsWithNameContaining("라떼")).containsExactly(2L, 5L);
+        assertThat(index.idsWithNameContaining("차")).containsExactly(2L, 3L);
+        // 카테고리 "커피" 는 이름이 아니므로 제외, 순서가 다른 글자도 제외
+        assertThat(index.idsWithNameContaining("커피")).isEmpty();
+        assertThat(index.idsWithNameContaining("떼라")).isEmpty();
+        // 글자/숫자가 없으면 색인으로 거를 수 없음
+        assertThat(index.idsWithNameContaining("%")).isNull();
+    }
+
+    @Test
+    void multiWordQueryMatchesEachWordOnItsOwn() {
+        ProductSearchIndex index = index(
+                product(1L, "아이스티", "티"),
+                product(2L, "밀크쉐이크", "음료"),
+                product(3L, "카페 라떼", "커피"),
+                product(4L, "아이스 카페 라떼", "커피"),
+                product(5L, "녹차 라떼", "티"));
+
+        List<Long> ids = index.search("아이스 라떼", 0, 10).ids();
+
+        // 두 단어 모두 맞는 상품이 먼저, 라떼들은 빠지지 않음, 어느 단어와도 안 맞는 상품은 제외
+        assertThat(ids).first().isEqualTo(4L);
+        assertThat(ids).containsExactlyInAnyOrder(1L, 3L, 4L, 5L);
+    }
+
+    @Test
+    void blankQueryReturnsNothing() {
+        assertThat(index.search("  ", 0, 10).total()).isZero();
+    }
+
+    @Test
+    void snapshotReadFirstIsNotAppliedAfterANewerOne() throws Exception {
+        ProductRepository repo = mock(ProductRepository.class);
+        when(repo.findAll()).thenReturn(List.of(product(1L, "아메리카노", "커피")));
+        CountDownLatch firstRead = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger reads = new AtomicInteger();
+        // 첫 번째 갱신은 옛 이름을 읽고 반영 전에 멈춤, 두 번째 갱신은 새 이름을 읽음
+        when(repo.findById(1L)).thenAnswer(inv -> {
+            if (reads.getAndIncrement() > 0) return Optional.of(product(1L, "콜드브루", "커피"));
+            firstRead.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(product(1L, "아메리카노", "커피"));
+        });
+        ProductSearchIndex index = new ProductSearchIndex(repo);
+        index.rebuild();
+
+        Thread older = new Thread(() -> index.onProductChanged(new ProductChangedEvent(1L)));
+        Thread newer = new Thread(() -> index.onProductChanged(new ProductChangedEvent(1L)));
+        older.start();
+        firstRead.await(5, TimeUnit.SECONDS);
+        newer.start();
+        Thread.sleep(100);
+        release.countDown();
+        older.join(5000);
+        newer.join(5000);
+
+        assertThat(index.search("콜드", 0, 10).ids()).containsExactly(1L);
+        assertThat(index.search("메리", 0, 10).ids()).isEmpty();
+    }
+}
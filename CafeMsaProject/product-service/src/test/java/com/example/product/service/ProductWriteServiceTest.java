@@ -0,0 +1,105 @@
+package com.example.product.service;
+
+import com.example.product.model.CatalogVersion;
+import com.example.product.model.Product;
+import com.example.product.repository.CatalogVersionRepository;
+import com.example.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/** 상품 쓰기 + 목록 버전이 한 트랜잭션인지, 캐시 무효화가 커밋 후에만 나가는지. 커밋을 봐야 하므로 테스트 트랜잭션 없이 실행 */
+@DataJpaTest(properties = "eureka.client.enabled=false")
+@Import({ProductWriteService.class, HotStockCounters.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductWriteServiceTest {
+
+    @Autowired
+    private ProductWriteService service;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CatalogVersionRepository catalogVersionRepository;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @MockBean
+    private ProductCatalogCache catalogCache;
+
+    @MockBean
+    private ProductEventPublisher eventPublisher;
+
+    @BeforeEach
+    void versionRow() {
+        if (!catalogVersionRepository.existsById(CatalogVersion.ID)) {
+            catalogVersionRepository.save(new CatalogVersion(CatalogVersion.ID, 0L, Instant.EPOCH));
+        }
+    }
+
+    private long catalogVersion() {
+        return catalogVersionRepository.findById(CatalogVersion.ID).map(CatalogVersion::getVersion).orElse(0L);
+    }
+
+    private static Product product(String name, double price) {
+        return Product.builder().name(name).price(price).stock(10).build();
+    }
+
+    @Test
+    void updateBumpsVersionAndEvictsAfterCommit() {
+        Product saved = service.create(product("라떼", 4500.0));
+        long before = catalogVersion();
+        clearInvocations(catalogCache);
+
+        Product updated = service.update(saved.getId(), product("라떼", 5000.0)).orElseThrow();
+
+        assertThat(updated.getPrice()).isEqualTo(5000.0);
+        assertThat(catalogVersion()).isEqualTo(before + 1);
+        verify(catalogCache).evict(saved.getId());
+        verify(eventPublisher).priceChanged(saved.getId(), 4500.0, 5000.0);
+    }
+
+    @Test
+    void rolledBackWriteLeavesVersionAndCacheAlone() {
+        long before = catalogVersion();
+
+        new TransactionTemplate(txManager).executeWithoutResult(status -> {
+            service.create(product("롤백", 3000.0));
+            status.setRollbackOnly();
+        });
+
+        assertThat(catalogVersion()).isEqualTo(before);
+        assertThat(productRepository.findAll()).extracting(Product::getName).doesNotContain("롤백");
+        verify(catalogCache, never()).evict(anyLong());
+        verify(eventPublisher, never()).priceChanged(any(), any(), any());
+    }
+
+    @Test
+    void missingProductIsNotWritten() {
+        long before = catalogVersion();
+
+        assertThat(service.update(Long.MAX_VALUE, product("없음", 1000.0))).isEmpty();
+        assertThat(service.delete(Long.MAX_VALUE)).isFalse();
+
+        assertThat(catalogVersion()).isEqualTo(before);
+        verify(catalogCache, never()).evict(any());
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.product.service;
+
+import com.example.product.dto.StockReservationItem;
+import com.example.product.model.Product;
+import com.example.product.model.StockReservation;
+import com.example.product.repository.CatalogVersionRepository;
+import com.example.product.repository.ProductRepository;
+import com.example.product.repository.StockReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/** 실제 조건부 UPDATE (H2) 로 예약. 동시 요청이 서로의 커밋을 봐야 하므로 테스트 트랜잭션 없이 실행 */
+@DataJpaTest(properties = "eureka.client.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockReservationServiceTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockReservationRepository reservationRepository;
+
+    @Autowired
+    private CatalogVersionRepository catalogVersionRepository;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    private HotStockCounters hotStock;
+
+    private StockReservationService service(Set<Long> hotIds, int chunk) {
+        hotStock = new HotStockCounters(productRepository, hotIds, 4, chunk);
+        return new StockReservationService(productRepository, reservationRepository, hotStock,
+                mock(ProductCatalogCache.class), catalogVersionRepository, new TransactionTemplate(txManager),
+                Duration.ofMinutes(15), 100);
+    }
+
+    private Long product(int stock) {
+        return productRepository.save(Product.builder().name("테스트").price(1000.0).stock(stock).build()).getId();
+    }
+
+    private static List<StockReservationItem> one(Long productId, int qty) {
+        return List.of(new StockReservationItem(productId, qty));
+    }
+
+    /** threads 개가 동시에 한 번씩 호출, 성공 수 (재고 부족 외의 예외는 그대로 실패) */
+    private static int concurrently(int threads, Callable<?> call) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger ok = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        call.call();
+                        ok.incrementAndGet();
+                    } catch (InsufficientStockException e) {
+                        // 예상된 실패
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return ok.get();
+    }
+
+    @Test
+    void concurrentReservationsOfTheLastUnitSellItOnce() throws Exception {
+        Long id = product(1);
+        StockReservationService service = service(Set.of(), 20);
+
+        int reserved = concurrently(8, () -> service.reserve(one(id, 1), "user"));
+
+        assertThat(reserved).isEqualTo(1);
+        assertThat(productRepository.findStockById(id)).isZero();
+    }
+
+    @Test
+    void concurrentReservationsOfAHotProductNeverOversell() throws Exception {
+        Long id = product(5);
+        StockReservationService service = service(Set.of(id), 2);
+
+        int reserved = concurrently(8, () -> service.reserve(one(id, 1), "user"));
+
+        assertThat(reserved).isEqualTo(5);
+        assertThat(productRepository.findStockById(id)).isZero();
+        assertThat(hotStock.allowance(id)).isZero();
+    }
+
+    @Test
+    void failedReservationReturnsTheHotUnitsItAlreadyTook() {
+        Long hot = product(10);
+        Long soldOut = product(0);
+        StockReservationService service = service(Set.of(hot), 4);
+
+        assertThatThrownBy(() -> service.reserve(
+                List.of(new StockReservationItem(hot, 3), new StockReservationItem(soldOut, 1)), "user"))
+                .isInstanceOf(InsufficientStockException.class);
+
+        // 충전은 따로 커밋됐지만 떼어 온 몫은 메모리에 그대로 → 보이는 재고는 그대로
+        assertThat(productRepository.findStockById(hot) + hotStock.allowance(hot)).isEqualTo(10);
+        assertThat(productRepository.findStockById(soldOut)).isZero();
+    }
+
+    @Test
+    void failedReservationRollsBackEarlierRowDecrements() {
+        Long first = product(5);
+        Long second = product(1);
+        StockReservationService service = service(Set.of(), 20);
+
+        assertThatThrownBy(() -> service.reserve(
+                List.of(new StockReservationItem(first, 2), new StockReservationItem(second, 2)), "user"))
+                .isInstanceOf(InsufficientStockException.class);
+
+        assertThat(productRepository.findStockById(first)).isEqualTo(5);
+        assertThat(productRepository.findStockById(second)).isEqualTo(1);
+    }
+
+    @Test
+    void unknownProductIsReportedAsMissing() {
+        StockReservationService service = service(Set.of(), 20);
+
+        assertThatThrownBy(() -> service.reserve(one(Long.MAX_VALUE, 1), "user"))
+                .isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void releaseRestoresStockOnceAndOnlyForTheOwner() {
+        Long id = product(2);
+        StockReservationService service = service(Set.of(), 20);
+        StockReservation r = service.reserve(one(id, 2), "alice");
+        assertThat(productRepository.findStockById(id)).isZero();
+
+        assertThatThrownBy(() -> service.release(r.getId(), "mallory", false))
+                .isInstanceOf(NoSuchElementException.class);
+        assertThat(productRepository.findStockById(id)).isZero();
+
+        service.release(r.getId(), "alice", false);
+        service.release(r.getId(), "alice", false); // 두 번째는 그대로
+        assertThat(productRepository.findStockById(id)).isEqualTo(2);
+    }
+
+    @Test
+    void confirmedReservationCannotBeReleased() {
+        Long id = product(1);
+        StockReservationService service = service(Set.of(), 20);
+        StockReservation r = service.reserve(one(id, 1), "alice");
+
+        assertThat(service.confirm(r.getId(), "alice", false).getStatus())
+                .isEqualTo(StockReservation.Status.CONFIRMED);
+        assertThatThrownBy(() -> service.release(r.getId(), "alice", false))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(productRepository.findStockById(id)).isZero();
+    }
+}